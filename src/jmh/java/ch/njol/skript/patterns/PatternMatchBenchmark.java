@@ -0,0 +1,94 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching expressions against compiled patterns, as done by {@link ch.njol.skript.lang.SkriptParser} for every syntax element it tries.
+ * Only patterns without types are used, matching types requires registered syntax elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternMatchBenchmark {
+
+	private SkriptPattern literal;
+	private SkriptPattern optionals;
+	private SkriptPattern choices;
+
+	@Setup
+	public void setup() {
+		literal = PatternCompiler.compile("give all items to everyone");
+		optionals = PatternCompiler.compile("[the] name of [the] [current] thing");
+		choices = PatternCompiler.compile("(open|close|lock|unlock) [the] (door|gate|trapdoor)");
+	}
+
+	@Benchmark
+	@Nullable
+	public MatchResult literal() {
+		return literal.match("give all items to everyone");
+	}
+
+	@Benchmark
+	@Nullable
+	public MatchResult optionals() {
+		return optionals.match("name of the thing");
+	}
+
+	@Benchmark
+	@Nullable
+	public MatchResult choices() {
+		return choices.match("unlock the trapdoor");
+	}
+
+	/**
+	 * An expression that doesn't contain the pattern's keywords, which is the most common case when parsing.
+	 */
+	@Benchmark
+	@Nullable
+	public MatchResult keywordMiss() {
+		return literal.match("send \"hello\" to the player");
+	}
+
+	/**
+	 * An expression that contains the pattern's keywords but doesn't match it.
+	 */
+	@Benchmark
+	@Nullable
+	public MatchResult miss() {
+		return choices.match("open the window");
+	}
+
+}
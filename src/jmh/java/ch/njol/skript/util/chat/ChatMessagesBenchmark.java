@@ -0,0 +1,71 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util.chat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing formatted messages with {@link ChatMessages#parse(String)}, as done when sending messages.
+ * Chat codes are registered by their internal names, since the localized names need Skript's language files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatMessagesBenchmark {
+
+	@Setup
+	public void setup() {
+		for (SkriptChatCode code : SkriptChatCode.values()) {
+			ChatMessages.codes.put(code.getLangName(), code);
+			if (code.getColorChar() != 0)
+				ChatMessages.addColorChar(code.getColorChar(), code);
+		}
+	}
+
+	@Benchmark
+	public List<MessageComponent> plain() {
+		return ChatMessages.parse("Welcome to the server, have fun and be nice to each other!");
+	}
+
+	@Benchmark
+	public List<MessageComponent> colorChars() {
+		return ChatMessages.parse("&6Welcome &ato the &lserver&r, have fun and &cbe nice&r to each other!");
+	}
+
+	@Benchmark
+	public List<MessageComponent> tags() {
+		return ChatMessages.parse("<gold>Welcome <bold>to the server<reset>, <dark_red>have fun<reset> and be nice to each other!");
+	}
+
+}
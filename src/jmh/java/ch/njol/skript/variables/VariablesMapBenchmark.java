@@ -0,0 +1,122 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing variables in a {@link VariablesMap}, which stores both global variables and the local variables of a trigger.
+ * {@link Variables} itself is not used, as it needs Skript's registered classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariablesMapBenchmark {
+
+	private static final int SIZE = 1000;
+
+	/**
+	 * The name of a local variable that was compiled to a slot, which must always be the same instance.
+	 */
+	private static final String SLOT_NAME = "counter";
+
+	private static final String[] NAMES = {
+		"points::1", "points::10", "points::2", "points::abc", "points::-5", "points::0.5", "points::007", "points::7"
+	};
+
+	private VariablesMap globals;
+	private VariablesMap locals;
+	private int index;
+
+	@Setup
+	public void setup() {
+		globals = new VariablesMap();
+		for (int i = 0; i < SIZE; i++) {
+			globals.setVariable("points::" + i, i);
+			globals.setVariable("player::" + i + "::name", "player " + i);
+		}
+		locals = new VariablesMap();
+		locals.setSlotVariable(0, SLOT_NAME, 0L);
+		locals.setVariable("list::1", "a");
+	}
+
+	private String nextName() {
+		index = (index + 1) % SIZE;
+		return "points::" + index;
+	}
+
+	@Benchmark
+	@Nullable
+	public Object getGlobal() {
+		return globals.getVariable(nextName());
+	}
+
+	@Benchmark
+	public void setGlobal() {
+		globals.setVariable(nextName(), index);
+	}
+
+	@Benchmark
+	@Nullable
+	public Object getList() {
+		return globals.getVariable("points::*");
+	}
+
+	@Benchmark
+	@Nullable
+	public Object getLocalByName() {
+		return locals.getVariable("list::1");
+	}
+
+	@Benchmark
+	@Nullable
+	public Object getLocalSlot() {
+		return locals.getSlotVariable(0, SLOT_NAME);
+	}
+
+	@Benchmark
+	public void setLocalSlot() {
+		locals.setSlotVariable(0, SLOT_NAME, (long) index++);
+	}
+
+	@Benchmark
+	public void compareNames(Blackhole blackhole) {
+		for (String first : NAMES) {
+			for (String second : NAMES)
+				blackhole.consume(VariablesMap.VARIABLE_NAME_COMPARATOR.compare(first, second));
+		}
+	}
+
+}
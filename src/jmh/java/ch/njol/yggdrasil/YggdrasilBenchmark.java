@@ -0,0 +1,89 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.yggdrasil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialising and deserialising an object with {@link Yggdrasil}, as done for every saved variable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YggdrasilBenchmark {
+
+	public static final class Data implements YggdrasilSerializable {
+
+		private int level = 30;
+		private double balance = 1234.5;
+		private String name = "Steve";
+		private String[] tags = {"builder", "moderator", "veteran"};
+		private Data[] children = new Data[0];
+
+		public Data() {}
+
+	}
+
+	private Yggdrasil yggdrasil;
+	private Data data;
+	private byte[] serialized;
+
+	@Setup
+	public void setup() throws IOException {
+		yggdrasil = new Yggdrasil();
+		yggdrasil.registerSingleClass(Data.class, "Data");
+		data = new Data();
+		data.children = new Data[] {new Data(), new Data()};
+		serialized = serialize();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (YggdrasilOutputStream out = yggdrasil.newOutputStream(bytes)) {
+			out.writeObject(data);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public Data deserialize() throws IOException {
+		try (YggdrasilInputStream in = yggdrasil.newInputStream(new ByteArrayInputStream(serialized))) {
+			return in.readObject(Data.class);
+		}
+	}
+
+}
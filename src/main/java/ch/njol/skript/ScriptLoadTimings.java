@@ -0,0 +1,100 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Collects how long parsing each script and each of its structures took during one call of
+ * {@link ScriptLoader#loadScripts(java.util.Set, ch.njol.util.OpenCloseable)}.
+ * Times may be recorded from multiple threads.
+ */
+final class ScriptLoadTimings {
+
+	/**
+	 * The time spent on a single structure, in all its load stages.
+	 */
+	static final class StructureTiming {
+
+		final String script;
+		final String structure;
+		final int line;
+		private final LongAdder nanos = new LongAdder();
+
+		StructureTiming(String script, String structure, int line) {
+			this.script = script;
+			this.structure = structure;
+			this.line = line;
+		}
+
+		long getMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+		}
+
+	}
+
+	private final Map<String, LongAdder> scripts = new ConcurrentHashMap<>();
+	private final Map<Object, StructureTiming> structures = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds time spent on a script, outside of its structures' load stages.
+	 */
+	void addScript(String script, long nanos) {
+		scripts.computeIfAbsent(script, s -> new LongAdder()).add(nanos);
+	}
+
+	/**
+	 * Adds time spent on one load stage of a structure, which also counts towards its script.
+	 * @param key The structure, times with the same key are added up.
+	 */
+	void addStructure(Object key, String script, String structure, int line, long nanos) {
+		structures.computeIfAbsent(key, k -> new StructureTiming(script, structure, line)).nanos.add(nanos);
+		addScript(script, nanos);
+	}
+
+	/**
+	 * @return The scripts that took the longest, with their times in milliseconds, slowest first.
+	 */
+	List<Entry<String, Long>> getSlowestScripts(int limit) {
+		return scripts.entrySet().stream()
+			.<Entry<String, Long>>map(entry -> new SimpleImmutableEntry<>(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().sum())))
+			.sorted(Entry.<String, Long>comparingByValue().reversed())
+			.limit(limit)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return The structures that took the longest, slowest first.
+	 */
+	List<StructureTiming> getSlowestStructures(int limit) {
+		return structures.values().stream()
+			.sorted(Comparator.comparingLong((StructureTiming timing) -> timing.nanos.sum()).reversed())
+			.limit(limit)
+			.collect(Collectors.toList());
+	}
+
+}
@@ -19,22 +19,34 @@
 package ch.njol.skript;
 
 import ch.njol.skript.config.Config;
+import ch.njol.skript.config.ConfigReader;
 import ch.njol.skript.config.Node;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.config.SimpleNode;
 import ch.njol.skript.events.bukkit.PreScriptLoadEvent;
 import ch.njol.skript.lang.Section;
+import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
+import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.Statement;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.TriggerSection;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.parser.ScriptParseCache;
 import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.log.LogEntry;
+import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.patterns.KeywordIndex;
 import ch.njol.skript.sections.SecLoop;
+import ch.njol.skript.structures.StructAliases;
+import ch.njol.skript.structures.StructCommand;
+import ch.njol.skript.structures.StructEvent;
+import ch.njol.skript.structures.StructFunction;
+import ch.njol.skript.structures.StructOptions;
 import ch.njol.skript.structures.StructOptions.OptionsData;
+import ch.njol.skript.structures.StructUsing;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.skript.util.Task;
@@ -48,29 +60,36 @@ import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 import org.skriptlang.skript.lang.script.Script;
+import org.skriptlang.skript.lang.script.ScriptData;
 import org.skriptlang.skript.lang.structure.Structure;
+import org.skriptlang.skript.lang.structure.Structure.Priority;
+import org.skriptlang.skript.lang.structure.StructureInfo;
 
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -255,31 +274,16 @@ public class ScriptLoader {
 	 */
 
 	/**
-	 * The tasks that should be executed by the async loaders.
+	 * The work-stealing pool of async loaders.
 	 * <br>
-	 * This queue should only be used when {@link #isAsync()} returns true,
-	 * otherwise this queue is not used.
-	 * @see AsyncLoaderThread
+	 * This pool should only be used when {@link #isAsync()} returns true,
+	 * otherwise it is null.
 	 */
-	private static final BlockingQueue<Runnable> loadQueue = new LinkedBlockingQueue<>();
-
-	/**
-	 * The {@link ThreadGroup} all async loaders belong to.
-	 * @see AsyncLoaderThread
-	 */
-	private static final ThreadGroup asyncLoaderThreadGroup = new ThreadGroup("Skript async loaders");
-
-	/**
-	 * All active {@link AsyncLoaderThread}s.
-	 */
-	private static final List<AsyncLoaderThread> loaderThreads = new ArrayList<>();
+	@Nullable
+	private static ForkJoinPool loaderPool;
 
 	/**
-	 * The current amount of loader threads.
-	 * <br>
-	 * Should always be equal to the size of {@link #loaderThreads},
-	 * unless {@link #isAsync()} returns false.
-	 * This condition might be false during the execution of {@link #setAsyncLoaderSize(int)}.
+	 * The current amount of loader threads, the parallelism of {@link #loaderPool}.
 	 */
 	private static int asyncLoaderSize;
 	
@@ -311,86 +315,33 @@ public class ScriptLoader {
 	
 	/**
 	 * Sets the amount of async loaders, by updating
-	 * {@link #asyncLoaderSize} and {@link #loaderThreads}.
+	 * {@link #asyncLoaderSize} and {@link #loaderPool}.
 	 * <br>
 	 * If {@code size <= 0}, async and parallel loading are disabled.
 	 * <br>
 	 * If {@code size == 1}, async loading is enabled but parallel loading is disabled.
 	 * <br>
 	 * If {@code size >= 2}, async and parallel loading are enabled.
+	 * Structures that do not depend on each other are then loaded in parallel as well,
+	 * see {@link #loadStructuresInParallel(List, OpenCloseable, ScriptLoadTimings)}.
 	 *
 	 * @param size the amount of async loaders to use.
 	 */
 	public static void setAsyncLoaderSize(int size) throws IllegalStateException {
-		asyncLoaderSize = size;
-		if (size <= 0) {
-			for (AsyncLoaderThread thread : loaderThreads)
-				thread.cancelExecution();
+		if (size == asyncLoaderSize && (size <= 0) == (loaderPool == null))
 			return;
-		}
-		
-		// Remove threads
-		while (loaderThreads.size() > size) {
-			AsyncLoaderThread thread = loaderThreads.remove(loaderThreads.size() - 1);
-			thread.cancelExecution();
-		}
-		// Add threads
-		while (loaderThreads.size() < size) {
-			loaderThreads.add(AsyncLoaderThread.create());
-		}
-		
-		if (loaderThreads.size() != size)
-			throw new IllegalStateException();
-	}
-	
-	/**
-	 * This thread takes and executes tasks from the {@link #loadQueue}.
-	 * Instances of this class must be created with {@link AsyncLoaderThread#create()},
-	 * and created threads will always be part of the {@link #asyncLoaderThreadGroup}.
-	 */
-	private static class AsyncLoaderThread extends Thread {
-		
-		/**
-		 * @see AsyncLoaderThread
-		 */
-		public static AsyncLoaderThread create() {
-			AsyncLoaderThread thread = new AsyncLoaderThread();
-			thread.start();
+		asyncLoaderSize = size;
+
+		// Tasks that were already submitted are still executed by the old pool
+		ForkJoinPool oldPool = loaderPool;
+		if (oldPool != null)
+			oldPool.shutdown();
+
+		loaderPool = size <= 0 ? null : new ForkJoinPool(size, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("Skript async loader " + thread.getPoolIndex());
 			return thread;
-		}
-		
-		private AsyncLoaderThread() {
-			super(asyncLoaderThreadGroup, (Runnable) null);
-		}
-		
-		private boolean shouldRun = true;
-		
-		@Override
-		public void run() {
-			while (shouldRun) {
-				try {
-					Runnable runnable = loadQueue.poll(100, TimeUnit.MILLISECONDS);
-					if (runnable != null)
-						runnable.run();
-				} catch (InterruptedException e) {
-					//noinspection ThrowableNotThrown
-					Skript.exception(e); // Bubble it up with instructions on how to report it
-				}
-			}
-		}
-		
-		/**
-		 * Tell the loader it should stop taking tasks.
-		 * <br>
-		 * If this thread is currently executing a task, it will stop when that task is done.
-		 * <br>
-		 * If this thread is not executing a task,
-		 * it is stopped after at most 100 milliseconds.
-		 */
-		public void cancelExecution() {
-			shouldRun = false;
-		}
-		
+		}, null, true);
 	}
 	
 	/**
@@ -407,7 +358,7 @@ public class ScriptLoader {
 	 * If an exception is thrown, the future is completed exceptionally with the caught exception,
 	 * and {@link Skript#exception(Throwable, String...)} is called.
 	 * <br>
-	 * The future is executed on an async loader thread, only if
+	 * The future is executed by the async loader pool, only if
 	 * both {@link #isAsync()} and {@link Bukkit#isPrimaryThread()} return true,
 	 * otherwise this future is executed immediately, and the returned future is already completed.
 	 *
@@ -434,8 +385,9 @@ public class ScriptLoader {
 			}
 		};
 		
-		if (isAsync() && Bukkit.isPrimaryThread()) {
-			loadQueue.add(task);
+		ForkJoinPool loaderPool = ScriptLoader.loaderPool;
+		if (loaderPool != null && Bukkit.isPrimaryThread()) {
+			loaderPool.execute(task);
 		} else {
 			task.run();
 			assert future.isDone();
@@ -489,10 +441,22 @@ public class ScriptLoader {
 			return CompletableFuture.completedFuture(new ScriptInfo());
 
 		Bukkit.getPluginManager().callEvent(new PreScriptLoadEvent(configs));
+
+		return loadConfigs(configs, openCloseable);
+	}
+
+	/**
+	 * Loads the specified scripts, for which {@link PreScriptLoadEvent} has already been called.
+	 * See {@link #loadScripts(List, OpenCloseable)}.
+	 */
+	private static CompletableFuture<ScriptInfo> loadConfigs(List<Config> configs, OpenCloseable openCloseable) {
+		long patternsTried = KeywordIndex.getTriedCount();
+		long patternsSkipped = KeywordIndex.getSkippedCount();
 		
 		ScriptInfo scriptInfo = new ScriptInfo();
+		ScriptLoadTimings timings = new ScriptLoadTimings();
 
-		List<LoadingScriptInfo> scripts = new ArrayList<>();
+		List<LoadingScriptInfo> scripts = Collections.synchronizedList(new ArrayList<>());
 
 		List<CompletableFuture<Void>> scriptInfoFutures = new ArrayList<>();
 		for (Config config : configs) {
@@ -500,9 +464,13 @@ public class ScriptLoader {
 				throw new NullPointerException();
 			
 			CompletableFuture<Void> future = makeFuture(() -> {
+				long start = System.nanoTime();
 				LoadingScriptInfo info = loadScript(config);
+				timings.addScript(config.getFileName(), System.nanoTime() - start);
 				scripts.add(info);
-				scriptInfo.add(new ScriptInfo(1, info.structures.size()));
+				synchronized (scriptInfo) {
+					scriptInfo.add(new ScriptInfo(1, info.structures.size()));
+				}
 				return null;
 			}, openCloseable);
 			
@@ -511,8 +479,6 @@ public class ScriptLoader {
 		
 		return CompletableFuture.allOf(scriptInfoFutures.toArray(new CompletableFuture[0]))
 			.thenApply(unused -> {
-				// TODO in the future this won't work when parallel loading is fixed
-				// It does now though so let's avoid calling getParser() a bunch.
 				ParserInstance parser = getParser();
 
 				try {
@@ -529,82 +495,39 @@ public class ScriptLoader {
 							.collect(Collectors.toCollection(ArrayList::new));
 
 					// pre-loading
-					pairs.removeIf(pair -> {
-						LoadingScriptInfo loadingInfo = pair.getFirst();
-						Structure structure = pair.getSecond();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
-						try {
-							if (!structure.preLoad()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to preLoad a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
+					pairs.removeIf(pair -> !loadStage(pair, Structure::preLoad, "preLoad", timings));
 					parser.setInactive();
 
-					// TODO in the future, Structure#load/Structure#postLoad should be split across multiple threads if parallel loading is enabled.
-					// However, this is not possible right now as reworks in multiple areas will be needed.
-					// For example, the "Commands" class still uses a static list for currentArguments that is cleared between loads.
-					// Until these reworks happen, limiting main loading to asynchronous (not parallel) is the only choice we have.
-
 					// loading
-					pairs.removeIf(pair -> {
-						LoadingScriptInfo loadingInfo = pair.getFirst();
-						Structure structure = pair.getSecond();
-
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
-
+					if (isParallel()) {
+						// the parallel tasks open the OpenCloseable on their own threads
+						openCloseable.close();
+						Set<Structure> failed;
 						try {
-							if (!structure.load()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to load a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
+							failed = loadStructuresInParallel(pairs, openCloseable, timings);
+						} finally {
+							openCloseable.open();
 						}
-						return false;
-					});
+						pairs.removeIf(pair -> failed.contains(pair.getSecond()) && removeStructure(pair.getFirst(), pair.getSecond()));
+					} else {
+						pairs.removeIf(pair -> !loadStage(pair, Structure::load, "load", timings));
+					}
 					parser.setInactive();
 
 					// post-loading
-					pairs.removeIf(pair -> {
-						LoadingScriptInfo loadingInfo = pair.getFirst();
-						Structure structure = pair.getSecond();
+					pairs.removeIf(pair -> !loadStage(pair, Structure::postLoad, "postLoad", timings));
+					parser.setInactive();
 
-						parser.setActive(loadingInfo.script);
-						parser.setCurrentStructure(structure);
-						parser.setNode(loadingInfo.nodeMap.get(structure));
+					if (ScriptParseCache.isEnabled())
+						ScriptParseCache.save();
 
-						try {
-							if (!structure.postLoad()) {
-								loadingInfo.structures.remove(structure);
-								return true;
-							}
-						} catch (Exception e) {
-							//noinspection ThrowableNotThrown
-							Skript.exception(e, "An error occurred while trying to postLoad a Structure.");
-							loadingInfo.structures.remove(structure);
-							return true;
-						}
-						return false;
-					});
-					parser.setInactive();
+					if (Skript.logVeryHigh()) {
+						long tried = KeywordIndex.getTriedCount() - patternsTried;
+						long skipped = KeywordIndex.getSkippedCount() - patternsSkipped;
+						Skript.info("tried " + tried + " syntax patterns while loading, " + skipped + " more were skipped by the keyword index");
+					}
 
+					lastLoadTimings = timings;
 					return scriptInfo;
 				} catch (Exception e) {
 					// Something went wrong, we need to make sure the exception is printed
@@ -617,6 +540,174 @@ public class ScriptLoader {
 			});
 	}
 
+	/**
+	 * Runs a load stage of a structure, and removes the structure from its script if the stage fails.
+	 * @return Whether the stage succeeded.
+	 */
+	private static boolean loadStage(NonNullPair<LoadingScriptInfo, Structure> pair, Predicate<Structure> stage, String stageName, ScriptLoadTimings timings) {
+		if (runStage(pair.getFirst(), pair.getSecond(), stage, stageName, timings))
+			return true;
+		removeStructure(pair.getFirst(), pair.getSecond());
+		return false;
+	}
+
+	/**
+	 * Removes a structure that failed to load from its script, along with its {@link LoadedStructures signature}.
+	 * @return Whether the structure was part of the script.
+	 */
+	private static boolean removeStructure(LoadingScriptInfo loadingInfo, Structure structure) {
+		LoadedStructures loaded = loadingInfo.script.getData(LoadedStructures.class);
+		if (loaded != null)
+			loaded.signatures.remove(structure);
+		return loadingInfo.structures.remove(structure);
+	}
+
+	/**
+	 * Runs a load stage of a structure with the current thread's {@link ParserInstance}, and records how long it took.
+	 * @return Whether the stage succeeded.
+	 */
+	private static boolean runStage(LoadingScriptInfo loadingInfo, Structure structure, Predicate<Structure> stage, String stageName, ScriptLoadTimings timings) {
+		ParserInstance parser = getParser();
+		Node node = loadingInfo.nodeMap.get(structure);
+		parser.setActive(loadingInfo.script);
+		parser.setCurrentStructure(structure);
+		parser.setNode(node);
+
+		long start = System.nanoTime();
+		try {
+			return stage.test(structure);
+		} catch (Exception e) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(e, "An error occurred while trying to " + stageName + " a Structure.");
+			return false;
+		} finally {
+			timings.addStructure(structure, loadingInfo.script.getConfig().getFileName(),
+				node == null ? structure.getClass().getSimpleName() : String.valueOf(node.getKey()),
+				node == null ? -1 : node.getLine(), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Runs the {@link Structure#load()} stage of the given structures on the async loader pool.
+	 * <br>
+	 * Just like when loading sequentially, a structure is only loaded after all structures of its script
+	 * that have a lower priority. Structures of different scripts are loaded independently of each other,
+	 * except for those that are not {@link #isIndependent(Structure) independent},
+	 * which are loaded one after another in order of their priority.
+	 * <br>
+	 * The calling thread must not have the {@link OpenCloseable} opened.
+	 *
+	 * @param pairs The structures to load, sorted by priority.
+	 * @return The structures that failed to load.
+	 */
+	private static Set<Structure> loadStructuresInParallel(List<NonNullPair<LoadingScriptInfo, Structure>> pairs, OpenCloseable openCloseable, ScriptLoadTimings timings) {
+		ForkJoinPool loaderPool = ScriptLoader.loaderPool;
+		assert loaderPool != null;
+
+		Set<Structure> failed = ConcurrentHashMap.newKeySet();
+		Map<LoadingScriptInfo, ScriptDependencies> dependencies = new HashMap<>();
+		CompletableFuture<Void> lastDependent = CompletableFuture.completedFuture(null);
+		List<CompletableFuture<Void>> futures = new ArrayList<>(pairs.size());
+		for (NonNullPair<LoadingScriptInfo, Structure> pair : pairs) {
+			LoadingScriptInfo loadingInfo = pair.getFirst();
+			Structure structure = pair.getSecond();
+
+			ScriptDependencies scriptDependencies = dependencies.computeIfAbsent(loadingInfo, info -> new ScriptDependencies());
+			CompletableFuture<Void> dependency = scriptDependencies.before(structure.getPriority());
+			boolean independent = isIndependent(structure);
+			if (!independent)
+				dependency = CompletableFuture.allOf(dependency, lastDependent);
+
+			CompletableFuture<Void> future = dependency.thenRunAsync(() -> {
+				try {
+					openCloseable.open();
+					try {
+						if (!runStage(loadingInfo, structure, Structure::load, "load", timings))
+							failed.add(structure);
+					} finally {
+						getParser().setInactive();
+						openCloseable.close();
+					}
+				} catch (Throwable t) {
+					failed.add(structure);
+					//noinspection ThrowableNotThrown
+					Skript.exception(t, "An error occurred while trying to load a Structure.");
+				}
+			}, loaderPool);
+
+			scriptDependencies.add(future);
+			if (!independent)
+				lastDependent = future;
+			futures.add(future);
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		return failed;
+	}
+
+	/**
+	 * @return Whether the {@link Structure#load()} stage of the structure only depends on its own script
+	 * and on the {@link Structure#preLoad()} stage of other scripts, so it can be run in parallel to other scripts.
+	 */
+	private static boolean isIndependent(Structure structure) {
+		if (structure instanceof StructEvent)
+			structure = ((StructEvent) structure).getSkriptEvent();
+		if (structure instanceof SkriptEvent)
+			return !(structure instanceof SelfRegisteringSkriptEvent);
+		return structure instanceof StructFunction || structure instanceof StructOptions
+			|| structure instanceof StructAliases || structure instanceof StructUsing;
+	}
+
+	/**
+	 * Keeps track of the loading structures of a script, for {@link #loadStructuresInParallel(List, OpenCloseable, ScriptLoadTimings)}.
+	 */
+	private static class ScriptDependencies {
+
+		@Nullable
+		private Priority priority;
+
+		/**
+		 * Completes when all structures with a lower priority than {@link #priority} have been loaded.
+		 */
+		private CompletableFuture<Void> previousPriorities = CompletableFuture.completedFuture(null);
+
+		private final List<CompletableFuture<Void>> currentPriority = new ArrayList<>();
+
+		/**
+		 * @return A future that completes when all structures of the script with a lower priority have been loaded.
+		 * Priorities must be passed in ascending order.
+		 */
+		CompletableFuture<Void> before(Priority priority) {
+			if (this.priority == null || this.priority.compareTo(priority) != 0) {
+				this.priority = priority;
+				currentPriority.add(previousPriorities);
+				previousPriorities = CompletableFuture.allOf(currentPriority.toArray(new CompletableFuture[0]));
+				currentPriority.clear();
+			}
+			return previousPriorities;
+		}
+
+		void add(CompletableFuture<Void> future) {
+			currentPriority.add(future);
+		}
+
+	}
+
+	/**
+	 * The timings of the last call to {@link #loadScripts(List, OpenCloseable)} that completed.
+	 */
+	@Nullable
+	private static volatile ScriptLoadTimings lastLoadTimings;
+
+	/**
+	 * @return How long parsing the scripts and structures of the last completed script load took,
+	 * or null if no scripts were loaded yet.
+	 */
+	@Nullable
+	static ScriptLoadTimings getLastLoadTimings() {
+		return lastLoadTimings;
+	}
+
 	private static class LoadingScriptInfo {
 
 		public final Script script;
@@ -647,6 +738,12 @@ public class ScriptLoader {
 		Map<Structure, Node> nodeMap = new HashMap<>();
 		List<Structure> structures = new ArrayList<>();
 		Script script = new Script(config, structures);
+		// only needed to find the changed structures when the script is reloaded
+		LoadedStructures loadedStructures = null;
+		if (SkriptConfig.incrementalScriptReloading.value()) {
+			loadedStructures = new LoadedStructures(structures);
+			script.addData(loadedStructures);
+		}
 		parser.setActive(script);
 
 		try {
@@ -661,24 +758,17 @@ public class ScriptLoader {
 						continue;
 					}
 
-					String line = node.getKey();
-					if (line == null)
-						continue;
-					line = replaceOptions(line); // replace options here before validation
-
-					if (!SkriptParser.validateLine(line))
-						continue;
-
-					if (Skript.logVeryHigh() && !Skript.debug())
-						Skript.info("loading trigger '" + line + "'");
-
-					Structure structure = Structure.parse(line, node, "Can't understand this structure: " + line);
+					// taken before parsing, so it is compared to the unparsed nodes of a newer version of the script
+					String signature = loadedStructures != null ? LoadedStructures.signature(node) : null;
+					Structure structure = parseStructure(node, Skript.getStructures().iterator());
 
 					if (structure == null)
 						continue;
 
 					structures.add(structure);
 					nodeMap.put(structure, node);
+					if (loadedStructures != null)
+						loadedStructures.signatures.put(structure, signature);
 				}
 				
 				if (Skript.logHigh()) {
@@ -717,6 +807,64 @@ public class ScriptLoader {
 		return new LoadingScriptInfo(script, structures, nodeMap);
 	}
 
+	/**
+	 * Parses a top-level node of a script as a structure, with the script being parsed.
+	 * @param structures The structures the node may be parsed as.
+	 * @return The structure, or null if the node is not a valid structure, in which case an error has been printed.
+	 */
+	@Nullable
+	private static Structure parseStructure(Node node, Iterator<? extends StructureInfo<? extends Structure>> structures) {
+		String line = node.getKey();
+		if (line == null)
+			return null;
+		line = replaceOptions(line); // replace options here before validation
+
+		if (!SkriptParser.validateLine(line))
+			return null;
+
+		if (Skript.logVeryHigh() && !Skript.debug())
+			Skript.info("loading trigger '" + line + "'");
+
+		return Structure.parse(line, node, "Can't understand this structure: " + line, structures);
+	}
+
+	/**
+	 * The structures of a loaded script, and the contents of the nodes they were parsed from,
+	 * used to find the structures that changed when the script is {@link #reloadChangedStructures(Script, Config) reloaded}.
+	 */
+	private static final class LoadedStructures implements ScriptData {
+
+		/**
+		 * The modifiable list of structures of the script.
+		 */
+		private final List<Structure> structures;
+
+		private final Map<Structure, String> signatures = new ConcurrentHashMap<>();
+
+		private LoadedStructures(List<Structure> structures) {
+			this.structures = structures;
+		}
+
+		/**
+		 * @return The contents of the node and its children, including their line numbers,
+		 * which are part of the triggers parsed from them.
+		 */
+		static String signature(Node node) {
+			StringBuilder signature = new StringBuilder();
+			appendSignature(node, signature);
+			return signature.toString();
+		}
+
+		private static void appendSignature(Node node, StringBuilder signature) {
+			signature.append(node.getLine()).append(':').append(node.getKey()).append('\n');
+			if (node instanceof SectionNode) {
+				for (Node child : (SectionNode) node)
+					appendSignature(child, signature);
+			}
+		}
+
+	}
+
 	/*
 	 * Script Structure Loading Methods
 	 */
@@ -788,7 +936,17 @@ public class ScriptLoader {
 		try {
 			String name = Skript.getInstance().getDataFolder().toPath().toAbsolutePath()
 					.resolve(Skript.SCRIPTSFOLDER).relativize(file.toPath().toAbsolutePath()).toString();
-			return loadStructure(Files.newInputStream(file.toPath()), name);
+			ByteBuffer content = ConfigReader.read(file.toPath());
+			if (!ScriptParseCache.isEnabled())
+				return loadStructure(content, name);
+
+			// hash the script, so cached parse results can be reused if it did not change
+			MessageDigest digest = ScriptParseCache.newDigest();
+			digest.update(content.duplicate());
+			Config config = loadStructure(content, name);
+			if (config != null && config.getFile() != null)
+				ScriptParseCache.prepare(config.getFile(), digest.digest());
+			return config;
 		} catch (IOException e) {
 			Skript.error("Could not load " + file.getName() + ": " + ExceptionUtils.toString(e));
 		}
@@ -799,12 +957,12 @@ public class ScriptLoader {
 	/**
 	 * Creates a script structure from the provided source.
 	 * This must be done before actually loading a script.
-	 * @param source Source input stream.
+	 * @param source The content of the source, see {@link ConfigReader#read(java.nio.file.Path)}.
 	 * @param name Name of source "file".
 	 * @return The loaded structure or null if an error occurred.
 	 */
 	@Nullable
-	private static Config loadStructure(InputStream source, String name) {
+	private static Config loadStructure(ByteBuffer source, String name) {
 		try {
 			return new Config(
 				source,
@@ -904,6 +1062,31 @@ public class ScriptLoader {
 	 * @return Info on the loaded Scripts.
 	 */
 	public static CompletableFuture<ScriptInfo> reloadScripts(Set<Script> scripts, OpenCloseable openCloseable) {
+		if (scripts.size() == 1 && SkriptConfig.incrementalScriptReloading.value()) {
+			Script script = scripts.iterator().next();
+			//noinspection ConstantConditions - getFile should never return null
+			Config config = loadStructure(script.getConfig().getFile());
+			if (config == null) {
+				unloadScripts(scripts);
+				return CompletableFuture.completedFuture(new ScriptInfo());
+			}
+
+			List<Config> configs = Collections.singletonList(config);
+			Bukkit.getPluginManager().callEvent(new PreScriptLoadEvent(configs));
+			ScriptInfo info;
+			openCloseable.open();
+			try {
+				info = reloadChangedStructures(script, config);
+			} finally {
+				openCloseable.close();
+			}
+			if (info != null)
+				return CompletableFuture.completedFuture(info);
+
+			unloadScripts(scripts);
+			return loadConfigs(configs, openCloseable);
+		}
+
 		unloadScripts(scripts);
 
 		List<Config> configs = new ArrayList<>();
@@ -918,6 +1101,122 @@ public class ScriptLoader {
 		return loadScripts(configs, openCloseable);
 	}
 	
+	/**
+	 * The structures that can be reloaded on their own, as no other structures depend on them.
+	 */
+	private static boolean isReloadable(Structure structure) {
+		if (structure instanceof StructEvent)
+			return !(((StructEvent) structure).getSkriptEvent() instanceof SelfRegisteringSkriptEvent);
+		return structure instanceof StructCommand;
+	}
+
+	/**
+	 * Reloads only the structures of a loaded script whose nodes changed in the new version of its config,
+	 * keeping the other structures loaded as they are.
+	 * This is only possible if all changed structures are {@link #isReloadable(Structure) reloadable},
+	 * otherwise the script is left unchanged.
+	 * @param script The loaded script.
+	 * @param config The new config of the script, which must not have been loaded yet.
+	 * @return Info on the reloaded structures, or null if the whole script has to be reloaded.
+	 */
+	@Nullable
+	private static ScriptInfo reloadChangedStructures(Script script, Config config) {
+		LoadedStructures loaded = script.getData(LoadedStructures.class);
+		if (loaded == null)
+			return null;
+
+		// structures whose node can't be found unchanged in the new config
+		Map<String, Structure> removed = new HashMap<>();
+		for (Structure structure : loaded.structures)
+			removed.put(loaded.signatures.get(structure), structure);
+
+		Map<Node, String> changedNodes = new LinkedHashMap<>();
+		for (Node node : config.getMainNode()) {
+			if (!(node instanceof SimpleNode) && !(node instanceof SectionNode))
+				return null;
+			String signature = LoadedStructures.signature(node);
+			if (removed.remove(signature) == null)
+				changedNodes.put(node, signature);
+		}
+
+		for (Structure structure : removed.values()) {
+			if (!isReloadable(structure))
+				return null;
+		}
+
+		ParserInstance parser = getParser();
+		List<Structure> structures = new ArrayList<>();
+		Map<Structure, Node> nodeMap = new HashMap<>();
+		Map<Structure, String> signatures = new HashMap<>();
+		parser.setActive(script);
+		try (ParseLogHandler log = SkriptLogger.startParseLogHandler()) {
+			for (Map.Entry<Node, String> changed : changedNodes.entrySet()) {
+				Node node = changed.getKey();
+				Iterator<StructureInfo<? extends Structure>> reloadable = Skript.getStructures().stream()
+					.filter(info -> info.getElementClass() == StructEvent.class || info.getElementClass() == StructCommand.class)
+					.iterator();
+				Structure structure = parseStructure(node, reloadable);
+				if (structure == null || !isReloadable(structure)) {
+					// the whole script is reloaded and will print any errors
+					log.clear();
+					log.clearError();
+					return null;
+				}
+				structures.add(structure);
+				nodeMap.put(structure, node);
+				signatures.put(structure, changed.getValue());
+			}
+			log.printLog();
+		} finally {
+			parser.setInactive();
+		}
+
+		for (Structure structure : removed.values()) {
+			parser.setActive(script);
+			structure.unload();
+		}
+		for (Structure structure : removed.values()) {
+			parser.setActive(script);
+			structure.postUnload();
+			loaded.structures.remove(structure);
+			loaded.signatures.remove(structure);
+		}
+		parser.setInactive();
+
+		if (SkriptConfig.keepConfigsLoaded.value()) {
+			SkriptConfig.configs.remove(script.getConfig());
+			SkriptConfig.configs.add(config);
+		}
+		script.setConfig(config);
+
+		LoadingScriptInfo loadingInfo = new LoadingScriptInfo(script, loaded.structures, nodeMap);
+		List<NonNullPair<LoadingScriptInfo, Structure>> pairs = structures.stream()
+			.sorted(Comparator.comparing(Structure::getPriority))
+			.map(structure -> new NonNullPair<>(loadingInfo, structure))
+			.collect(Collectors.toCollection(ArrayList::new));
+		loaded.structures.addAll(structures);
+		loaded.signatures.putAll(signatures);
+
+		ScriptLoadTimings timings = new ScriptLoadTimings();
+		try {
+			pairs.removeIf(pair -> !loadStage(pair, Structure::preLoad, "preLoad", timings));
+			parser.setInactive();
+			pairs.removeIf(pair -> !loadStage(pair, Structure::load, "load", timings));
+			parser.setInactive();
+			pairs.removeIf(pair -> !loadStage(pair, Structure::postLoad, "postLoad", timings));
+		} finally {
+			parser.setInactive();
+		}
+
+		if (ScriptParseCache.isEnabled())
+			ScriptParseCache.save();
+
+		if (Skript.logHigh())
+			Skript.info("reloaded " + pairs.size() + " of " + loaded.structures.size() + " structures of '" + config.getFileName() + "'");
+
+		return new ScriptInfo(1, pairs.size());
+	}
+
 	/*
 	 * Code Loading Methods
 	 */
@@ -977,6 +1276,7 @@ public class ScriptLoader {
 				if (Skript.debug() || subNode.debug())
 					Skript.debug(SkriptColor.replaceColorChar(parser.getIndentation() + stmt.toString(null, true)));
 
+				stmt.setLineNumber(subNode.getLine());
 				items.add(stmt);
 			} else if (subNode instanceof SectionNode) {
 				TypeHints.enterScope(); // Begin conditional type hints
@@ -988,6 +1288,7 @@ public class ScriptLoader {
 				if (Skript.debug() || subNode.debug())
 					Skript.debug(SkriptColor.replaceColorChar(parser.getIndentation() + section.toString(null, true)));
 
+				section.setLineNumber(subNode.getLine());
 				items.add(section);
 
 				// Destroy these conditional type hints
@@ -23,6 +23,7 @@ import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Section;
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptEventInfo;
+import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.Statement;
 import ch.njol.skript.lang.SyntaxElementInfo;
 import ch.njol.skript.lang.Trigger;
@@ -57,6 +58,7 @@ import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Getter;
 import ch.njol.skript.util.Task;
+import ch.njol.skript.util.TimingWheel;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
 import ch.njol.skript.util.chat.BungeeConverter;
@@ -1179,6 +1181,7 @@ public final class Skript extends JavaPlugin implements Listener {
 		}
 
 		Bukkit.getScheduler().cancelTasks(this);
+		TimingWheel.clear();
 
 		for (Closeable c : closeOnDisable) {
 			try {
@@ -1279,6 +1282,7 @@ public final class Skript extends JavaPlugin implements Listener {
 		acceptRegistrations = false;
 
 		Classes.onRegistrationsStop();
+		SkriptParser.onRegistrationsStop();
 	}
 
 	// ================ ADDONS ================
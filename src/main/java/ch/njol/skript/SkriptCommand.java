@@ -22,6 +22,7 @@ import ch.njol.skript.aliases.Aliases;
 import ch.njol.skript.command.CommandHelp;
 import ch.njol.skript.doc.Documentation;
 import ch.njol.skript.doc.HTMLGenerator;
+import ch.njol.skript.lang.parser.ParseMemo;
 import ch.njol.skript.localization.ArgsMessage;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.PluralizingArgsMessage;
@@ -31,10 +32,14 @@ import ch.njol.skript.log.TimingLogHandler;
 import ch.njol.skript.test.runner.SkriptTestEvent;
 import ch.njol.skript.test.runner.TestMode;
 import ch.njol.skript.test.runner.TestTracker;
+import ch.njol.skript.timings.SkriptProfiler;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.skript.util.Task;
+import ch.njol.skript.util.TimingWheel;
+import ch.njol.skript.variables.Variables;
+import ch.njol.skript.variables.VariablesStorage;
 import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
 import org.bukkit.Bukkit;
@@ -53,7 +58,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class SkriptCommand implements CommandExecutor {
@@ -80,6 +87,12 @@ public class SkriptCommand implements CommandExecutor {
 			.add("check")
 			.add("changes")
 			.add("download")
+		).add(new CommandHelp("profile", SkriptColor.DARK_CYAN)
+			.add("start")
+			.add("statements")
+			.add("stop")
+			.add("show")
+			.add("dump")
 		).add("info"
 		).add("help");
 
@@ -111,6 +124,91 @@ public class SkriptCommand implements CommandExecutor {
 			Skript.error(sender, StringUtils.fixCapitalization(PluralizingArgsMessage.format(m_reload_error.toString(what, r.numErrors(), timeTaken))));
 	}
 	
+	/**
+	 * The amount of scripts and structures listed after reloading all scripts.
+	 */
+	private static final int SLOWEST_LIMIT = 5;
+
+	private static void slowest(CommandSender sender) {
+		ScriptLoadTimings timings = ScriptLoader.getLastLoadTimings();
+		if (timings == null)
+			return;
+		info(sender, "reload.slowest scripts");
+		for (Entry<String, Long> script : timings.getSlowestScripts(SLOWEST_LIMIT))
+			info(sender, "reload.script timing", script.getKey(), script.getValue());
+		info(sender, "reload.slowest structures");
+		for (ScriptLoadTimings.StructureTiming structure : timings.getSlowestStructures(SLOWEST_LIMIT))
+			info(sender, "reload.structure timing", structure.structure, structure.line, structure.script, structure.getMillis());
+		long lookups = ParseMemo.getLookupCount();
+		if (lookups != 0) {
+			long hits = ParseMemo.getHitCount();
+			info(sender, "reload.parse memo", hits, lookups, hits * 100 / lookups);
+		}
+	}
+	
+	/**
+	 * The amount of triggers and statements listed by '/skript profile show'.
+	 */
+	private static final int PROFILE_LIMIT = 10;
+
+	private static void profile(CommandSender sender, String[] args) {
+		if (args[1].equalsIgnoreCase("start") || args[1].equalsIgnoreCase("statements")) {
+			boolean statements = args[1].equalsIgnoreCase("statements");
+			SkriptProfiler.start(statements);
+			info(sender, statements ? "profile.started statements" : "profile.started");
+		} else if (args[1].equalsIgnoreCase("stop")) {
+			if (!SkriptProfiler.isEnabled()) {
+				info(sender, "profile.not running");
+				return;
+			}
+			SkriptProfiler.stop();
+			info(sender, "profile.stopped");
+		} else if (args[1].equalsIgnoreCase("show")) {
+			List<SkriptProfiler.Entry> triggers = SkriptProfiler.getTriggers(PROFILE_LIMIT);
+			if (triggers.isEmpty()) {
+				info(sender, "profile.no results");
+			} else {
+				info(sender, "profile.triggers");
+				for (SkriptProfiler.Entry trigger : triggers)
+					profileEntry(sender, trigger);
+				List<SkriptProfiler.Entry> statements = SkriptProfiler.getStatements(PROFILE_LIMIT);
+				if (!statements.isEmpty()) {
+					info(sender, "profile.statements");
+					for (SkriptProfiler.Entry statement : statements)
+						profileEntry(sender, statement);
+				}
+			}
+			info(sender, "profile.delays", TimingWheel.getPendingCount(), TimingWheel.getExecutedCount(),
+				TimingWheel.getDeferredCount(), TimingWheel.getTotalDeferredCount());
+			List<VariablesStorage> storages = Variables.getStorages();
+			if (!storages.isEmpty()) {
+				info(sender, "profile.storages");
+				for (VariablesStorage storage : storages) {
+					info(sender, "profile.storage", storage.getDatabaseName(), storage.getQueueSize(), storage.getLastBatchSize(),
+						StringUtils.toString(storage.getAverageBatchSize(), 1),
+						TimeUnit.NANOSECONDS.toMillis(storage.getLastFlushNanos()),
+						TimeUnit.NANOSECONDS.toMillis(storage.getMaxFlushNanos()));
+				}
+			}
+		} else if (args[1].equalsIgnoreCase("dump")) {
+			File file = new File(Skript.getInstance().getDataFolder(), "profile-" + System.currentTimeMillis() + ".csv");
+			try {
+				SkriptProfiler.dump(file);
+				info(sender, "profile.dumped", file.getName());
+			} catch (IOException e) {
+				error(sender, "profile.dump error", ExceptionUtils.toString(e));
+			}
+		}
+	}
+
+	private static void profileEntry(CommandSender sender, SkriptProfiler.Entry entry) {
+		info(sender, "profile.entry", entry.getName(), entry.getLine(), entry.getScript(), entry.getInvocations(), entry.getContinuations(),
+			TimeUnit.NANOSECONDS.toMillis(entry.getTotalNanos()),
+			TimeUnit.NANOSECONDS.toMicros(entry.getMeanNanos()),
+			TimeUnit.NANOSECONDS.toMicros(entry.getPercentileNanos(0.99)),
+			entry.getWalks() == 0 ? 0 : entry.getAllocatedBytes() / entry.getWalks());
+	}
+
 	private static void info(CommandSender sender, String what, Object... args) {
 		what = args.length == 0 ? Language.get(CONFIG_NODE + "." + what) : PluralizingArgsMessage.format(Language.format(CONFIG_NODE + "." + what, args));
 		Skript.info(sender, StringUtils.fixCapitalization(what));
@@ -145,6 +243,8 @@ public class SkriptCommand implements CommandExecutor {
 							if (info.files == 0)
 								Skript.warning(Skript.m_no_scripts.toString());
 							reloaded(sender, logHandler, timingLogHandler, "config, aliases and scripts");
+							if (info.files > 0)
+								slowest(sender);
 						});
 				}
 
@@ -157,6 +257,8 @@ public class SkriptCommand implements CommandExecutor {
 							if (info.files == 0)
 								Skript.warning(Skript.m_no_scripts.toString());
 							reloaded(sender, logHandler, timingLogHandler, "scripts");
+							if (info.files > 0)
+								slowest(sender);
 						});
 				}
 
@@ -397,6 +499,10 @@ public class SkriptCommand implements CommandExecutor {
 
 			}
 
+			else if (args[0].equalsIgnoreCase("profile")) {
+				profile(sender, args);
+			}
+
 			else if (args[0].equalsIgnoreCase("gen-docs")) {
 				File templateDir = Documentation.getDocsTemplateDirectory();
 				if (!templateDir.exists()) {
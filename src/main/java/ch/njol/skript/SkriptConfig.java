@@ -19,6 +19,7 @@ import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.update.ReleaseChannel;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Timespan;
+import ch.njol.skript.util.TimingWheel;
 import ch.njol.skript.util.Version;
 import ch.njol.skript.util.chat.ChatMessages;
 import ch.njol.skript.util.chat.LinkParseMode;
@@ -35,6 +36,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -119,6 +121,7 @@ public class SkriptConfig {
 	
 	public static final Option<Boolean> usePlayerUUIDsInVariableNames = new Option<>("use player UUIDs in variable names", false); // TODO change to true later (as well as in the default config)
 	public static final Option<Boolean> enablePlayerVariableFix = new Option<>("player variable fix", true);
+	public static final Option<Boolean> parallelVariableLoading = new Option<>("parallel variable loading", false).optional(true);
 	
 	@SuppressWarnings("null")
 	private static final DateFormat shortDateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT);
@@ -175,10 +178,12 @@ public class SkriptConfig {
 	public static final Option<Boolean> disableVariableStartingWithExpressionWarnings =
 		new Option<>("disable starting a variable's name with an expression warnings", false);
 	
-	@Deprecated
 	public static final Option<Boolean> enableScriptCaching = new Option<>("enable script caching", false)
 			.optional(true);
 	
+	public static final Option<Boolean> incrementalScriptReloading = new Option<>("incremental script reloading", false)
+			.optional(true);
+	
 	public static final Option<Boolean> keepConfigsLoaded = new Option<>("keep configs loaded", false)
 			.optional(true);
 	
@@ -274,6 +279,9 @@ public class SkriptConfig {
 	public static final Option<Boolean> loadDefaultAliases = new Option<>("load default aliases", true)
 			.optional(true);
 
+	public static final Option<Boolean> enableAliasesCaching = new Option<>("enable aliases caching", false)
+			.optional(true);
+
 	public static final Option<Boolean> executeFunctionsWithMissingParams = new Option<>("execute functions with missing parameters", true)
 			.optional(true)
 			.setter(t -> Function.executeWithNulls = t);
@@ -328,6 +336,16 @@ public class SkriptConfig {
 
 	public static final Option<Timespan> longParseTimeWarningThreshold = new Option<>("long parse time warning threshold", new Timespan(0));
 
+	public static final Option<Timespan> delayedTriggerBudget = new Option<>("delayed trigger budget", new Timespan(0), s -> {
+		Timespan budget = Timespan.parse(s);
+		// timespans are rounded to milliseconds, and a budget of 0 would mean no budget at all
+		if (budget != null && budget.getAs(Timespan.TimePeriod.MILLISECOND) == 0 && s.matches(".*[1-9].*"))
+			return new Timespan(1);
+		return budget;
+	})
+			.setter(t -> TimingWheel.setBudget(TimeUnit.MILLISECONDS.toNanos(t.getAs(Timespan.TimePeriod.MILLISECOND))))
+			.optional(true);
+
 	/**
 	 * This should only be used in special cases
 	 */
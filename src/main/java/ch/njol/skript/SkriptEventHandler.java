@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class SkriptEventHandler {
@@ -88,6 +89,56 @@ public final class SkriptEventHandler {
 	 */
 	private static final Multimap<Class<? extends Event>, Trigger> triggers = ArrayListMultimap.create();
 
+	/**
+	 * An empty dispatch entry, used for event classes that have no Triggers at all.
+	 */
+	private static final Trigger[][] NO_TRIGGERS = new Trigger[EventPriority.values().length][0];
+
+	/**
+	 * A dispatch table mapping concrete Event classes to the Triggers that should be executed for them,
+	 * grouped by the ordinal of their {@link EventPriority}.
+	 * Entries are computed lazily on the first call of an Event class and never modified afterwards.
+	 * The whole table is replaced whenever a Trigger is registered or unregistered.
+	 */
+	private static volatile Map<Class<? extends Event>, Trigger[][]> dispatchTable = new ConcurrentHashMap<>();
+
+	/**
+	 * Invalidates all dispatch entries. Must be called whenever {@link #triggers} is modified.
+	 */
+	private static void invalidateDispatchTable() {
+		dispatchTable = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Obtains the dispatch entry for the provided concrete Event class, computing it if necessary.
+	 * @param event The concrete class of a called Event.
+	 * @return The Triggers to execute for the provided Event class, indexed by {@link EventPriority#ordinal()}.
+	 */
+	private static Trigger[][] getDispatchEntry(Class<? extends Event> event) {
+		Map<Class<? extends Event>, Trigger[][]> table = dispatchTable;
+		Trigger[][] entry = table.get(event);
+		if (entry == null) {
+			entry = computeDispatchEntry(event);
+			table.put(event, entry);
+		}
+		return entry;
+	}
+
+	private static Trigger[][] computeDispatchEntry(Class<? extends Event> event) {
+		List<Trigger> triggers = getTriggers(event);
+		if (triggers.isEmpty())
+			return NO_TRIGGERS;
+
+		EventPriority[] priorities = EventPriority.values();
+		Trigger[][] entry = new Trigger[priorities.length][];
+		for (EventPriority priority : priorities) {
+			entry[priority.ordinal()] = triggers.stream()
+				.filter(trigger -> trigger.getEvent().getEventPriority() == priority)
+				.toArray(Trigger[]::new);
+		}
+		return entry;
+	}
+
 	/**
 	 * A utility method to get all Triggers registered under the provided Event class.
 	 * @param event The event to find pairs from.
@@ -110,26 +161,20 @@ public final class SkriptEventHandler {
 	 * @param priority The priority of the Event.
 	 */
 	private static void check(Event event, EventPriority priority) {
-		// get all triggers for this event, return if none
-		List<Trigger> triggers = getTriggers(event.getClass());
-		if (triggers.isEmpty())
+		// get all triggers for this event at this priority, return if none
+		Trigger[] triggers = getDispatchEntry(event.getClass())[priority.ordinal()];
+		if (triggers.length == 0)
 			return;
 
 		// Check if this event should be treated as cancelled
 		boolean isCancelled = isCancelled(event);
 
-		// This logs events even if there isn't a trigger that's going to run at that priority.
-		// However, there should only be a priority listener IF there's a trigger at that priority.
-		// So the time will be logged even if no triggers pass check(), which is still useful information.
+		// The time will be logged even if no triggers pass check(), which is still useful information.
 		logEventStart(event, priority);
 
 		for (Trigger trigger : triggers) {
 			SkriptEvent triggerEvent = trigger.getEvent();
 
-			// check if the trigger is at the right priority
-			if (triggerEvent.getEventPriority() != priority)
-				continue;
-
 			// check if the cancel state of the event is correct
 			if (!triggerEvent.getListeningBehavior().matches(isCancelled))
 				continue;
@@ -302,6 +347,7 @@ public final class SkriptEventHandler {
 			return;
 
 		triggers.put(event, trigger);
+		invalidateDispatchTable();
 
 		EventPriority priority = trigger.getEvent().getEventPriority();
 
@@ -325,6 +371,7 @@ public final class SkriptEventHandler {
 
 			// Remove the trigger from the map
 			entryIterator.remove();
+			invalidateDispatchTable();
 
 			// check if we can unregister the listener
 			EventPriority priority = trigger.getEvent().getEventPriority();
@@ -34,6 +34,7 @@ import ch.njol.skript.localization.Message;
 import ch.njol.skript.localization.Noun;
 import ch.njol.skript.localization.RegexMessage;
 import ch.njol.skript.log.BlockingLogHandler;
+import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.util.EnchantmentType;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
@@ -51,9 +52,12 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -412,17 +416,19 @@ public abstract class Aliases {
 	
 	private static void loadInternal() throws IOException {
 		Path dataFolder = Skript.getInstance().getDataFolder().toPath();
+		Path aliasesFolder = dataFolder.resolve("aliases"); // user aliases
 		
 		// Load aliases.zip OR aliases from jar (never both)
 		Path zipPath = dataFolder.resolve("aliases-english.zip");
 		if (!SkriptConfig.loadDefaultAliases.value()) {
-			// Or do nothing, if user requested that default aliases are not loaded
+			// Or only load user aliases, if user requested that default aliases are not loaded
+			loadDirectories(dataFolder, null, aliasesFolder);
 		} else if (Files.exists(zipPath)) { // Load if it exists
 			try (FileSystem zipFs = FileSystems.newFileSystem(zipPath, Skript.class.getClassLoader())) {
 				assert zipFs != null; // It better not be...
 				Path aliasesPath = zipFs.getPath("/");
 				assert aliasesPath != null;
-				loadDirectory(aliasesPath);
+				loadDirectories(dataFolder, aliasesPath, aliasesFolder);
 			}
 		} else { // Fall back to jar loading
 			try {
@@ -431,20 +437,14 @@ public abstract class Aliases {
 					assert zipFs != null;
 					Path aliasesPath = zipFs.getPath("/", "aliases-english");
 					assert aliasesPath != null;
-					loadDirectory(aliasesPath);
+					loadDirectories(dataFolder, aliasesPath, aliasesFolder);
 				}
 			} catch (URISyntaxException e) {
 				assert false;
+				loadDirectories(dataFolder, null, aliasesFolder);
 			}
 			
 		}
-		
-		// Load everything from aliases folder (user aliases)
-		Path aliasesFolder = dataFolder.resolve("aliases");
-		if (Files.exists(aliasesFolder)) {
-			assert aliasesFolder != null;
-			loadDirectory(aliasesFolder);
-		}
 
 		// generate aliases from item names for any missing items
 		loadMissingAliases();
@@ -461,6 +461,45 @@ public abstract class Aliases {
 		}
 	}
 	
+	/**
+	 * Loads the default and user aliases, from the {@link AliasesCache aliases cache} if it is enabled and up to date.
+	 * The default aliases are loaded before the user aliases.
+	 * @param dataFolder Skript's folder.
+	 * @param defaultsFolder Directory of the default aliases, or null if they are not loaded.
+	 * @param aliasesFolder Directory of the user aliases, which may not exist.
+	 * @throws IOException If something goes wrong with loading.
+	 */
+	private static void loadDirectories(Path dataFolder, @Nullable Path defaultsFolder, Path aliasesFolder) throws IOException {
+		List<Path> directories = new ArrayList<>(2);
+		if (defaultsFolder != null)
+			directories.add(defaultsFolder);
+		if (Files.exists(aliasesFolder))
+			directories.add(aliasesFolder);
+		
+		if (!SkriptConfig.enableAliasesCaching.value()) {
+			for (Path directory : directories)
+				loadDirectory(directory);
+			return;
+		}
+		
+		AliasesCache cache = AliasesCache.of(dataFolder, directories);
+		if (cache.load(provider)) {
+			Skript.debug("Loaded aliases from the aliases cache");
+			return;
+		}
+		
+		provider.setRecorder(cache);
+		try (CountingLogHandler errors = new CountingLogHandler(Level.SEVERE).start()) {
+			for (Path directory : directories)
+				loadDirectory(directory);
+			// don't cache broken aliases, so that their errors are shown again on the next start
+			if (errors.getCount() == 0)
+				cache.save();
+		} finally {
+			provider.setRecorder(null);
+		}
+	}
+	
 	/**
 	 * Loads aliases from given directory.
 	 * @param dir Directory of aliases.
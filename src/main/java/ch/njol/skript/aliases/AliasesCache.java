@@ -0,0 +1,246 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.aliases;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.aliases.AliasesProvider.AliasName;
+import ch.njol.skript.lang.parser.ScriptParseCache;
+import ch.njol.skript.util.ExceptionUtils;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of the aliases defined by the alias files,
+ * in the form they are added to the {@link AliasesProvider} after their variations have been expanded.
+ * <p>
+ * If none of the alias files changed since the cache was written, the aliases are added from the cache
+ * instead of reading and parsing the alias files.
+ * The item datas of the aliases are still created when they are added, as they can only be created by the server.
+ * The cache is discarded whenever the version of Skript, of any addon or of the server changes.
+ * <p>
+ * This is only used if {@link SkriptConfig#enableAliasesCaching} is enabled.
+ */
+final class AliasesCache {
+
+	private static final String FILE_NAME = ".aliases-cache";
+	private static final int FORMAT_VERSION = 1;
+
+	private static final Gson gson = new Gson();
+
+	private final Path file;
+
+	/**
+	 * The hash of the names and contents of the alias files the aliases are loaded from.
+	 */
+	private final byte[] hash;
+
+	private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+	private final DataOutputStream recordedOut = new DataOutputStream(recorded);
+	private int recordedCount;
+
+	private AliasesCache(Path file, byte[] hash) {
+		this.file = file;
+		this.hash = hash;
+	}
+
+	/**
+	 * Creates the cache for aliases loaded from the given directories, see {@link Aliases#loadDirectory(Path)}.
+	 * @param dataFolder Skript's folder, where the cache is stored.
+	 * @param directories The directories containing the alias files, in the order they are loaded.
+	 * @throws IOException If the alias files could not be read.
+	 */
+	static AliasesCache of(Path dataFolder, List<Path> directories) throws IOException {
+		MessageDigest digest = ScriptParseCache.newDigest();
+		for (int i = 0; i < directories.size(); i++) {
+			digest.update((byte) i);
+			hash(digest, directories.get(i), directories.get(i));
+		}
+		return new AliasesCache(dataFolder.resolve(FILE_NAME), digest.digest());
+	}
+
+	private static void hash(MessageDigest digest, Path root, Path directory) throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(directory)) {
+			files = stream.sorted().collect(Collectors.toList());
+		}
+		for (Path file : files) {
+			String name = file.getFileName().toString();
+			if (Files.isDirectory(file) && !name.startsWith(".")) {
+				hash(digest, root, file);
+			} else if (name.endsWith(".sk")) {
+				digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+				digest.update(ScriptParseCache.newDigest().digest(Files.readAllBytes(file)));
+			}
+		}
+	}
+
+	/**
+	 * @return A description of the Skript, addon and server versions, the cache is only valid for the same description.
+	 */
+	private static String getEnvironment() {
+		return ScriptParseCache.getEnvironment() + " on " + Bukkit.getVersion();
+	}
+
+	/**
+	 * Adds the cached aliases to the given provider,
+	 * if the cache was written for the same alias files and environment.
+	 * @return Whether the aliases were added from the cache.
+	 */
+	boolean load(AliasesProvider provider) {
+		if (!Files.exists(file))
+			return false;
+		List<Definition> definitions;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(getEnvironment()))
+				return false; // outdated, will be overwritten once the alias files are loaded
+			byte[] hash = new byte[in.readUnsignedByte()];
+			in.readFully(hash);
+			if (!Arrays.equals(hash, this.hash))
+				return false;
+			int count = in.readInt();
+			definitions = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				definitions.add(Definition.read(in));
+		} catch (IOException | JsonParseException e) {
+			Skript.warning("Could not read the aliases cache, the aliases will be loaded from their files: " + ExceptionUtils.toString(e));
+			return false;
+		}
+
+		for (Definition definition : definitions)
+			provider.addAlias(definition.name, definition.id, definition.tags, definition.blockStates);
+		return true;
+	}
+
+	/**
+	 * Records an alias that is added to the provider while the alias files are loaded.
+	 * The arguments are written right away, so they may be modified afterwards.
+	 */
+	void record(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		try {
+			Definition.write(recordedOut, name, id, tags, blockStates);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // not thrown by a ByteArrayOutputStream
+		}
+		recordedCount++;
+	}
+
+	/**
+	 * Writes the recorded aliases to the cache file, replacing the aliases that were cached before.
+	 */
+	void save() {
+		Path tempFile = file.resolveSibling(FILE_NAME + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(getEnvironment());
+				out.writeByte(hash.length);
+				out.write(hash);
+				out.writeInt(recordedCount);
+				recordedOut.flush();
+				recorded.writeTo(out);
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Skript.warning("Could not save the aliases cache: " + ExceptionUtils.toString(e));
+		}
+	}
+
+	/**
+	 * The arguments of a single call to {@link AliasesProvider#addAlias(AliasName, String, Map, Map)}.
+	 */
+	private static final class Definition {
+
+		private final AliasName name;
+		private final String id;
+		@Nullable
+		private final Map<String, Object> tags;
+		private final Map<String, String> blockStates;
+
+		private Definition(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+			this.name = name;
+			this.id = id;
+			this.tags = tags;
+			this.blockStates = blockStates;
+		}
+
+		static void write(DataOutput out, AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) throws IOException {
+			out.writeUTF(name.singular);
+			out.writeUTF(name.plural);
+			out.writeInt(name.gender);
+			out.writeUTF(id);
+			out.writeBoolean(tags != null);
+			if (tags != null) {
+				// tags may contain long item components, which do not fit into DataOutput#writeUTF(String)
+				byte[] json = gson.toJson(tags).getBytes(StandardCharsets.UTF_8);
+				out.writeInt(json.length);
+				out.write(json);
+			}
+			out.writeInt(blockStates.size());
+			for (Map.Entry<String, String> state : blockStates.entrySet()) {
+				out.writeUTF(state.getKey());
+				out.writeUTF(state.getValue());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		static Definition read(DataInput in) throws IOException {
+			AliasName name = new AliasName(in.readUTF(), in.readUTF(), in.readInt());
+			String id = in.readUTF().intern(); // interned like the ids of parsed aliases
+			Map<String, Object> tags = null;
+			if (in.readBoolean()) {
+				byte[] json = new byte[in.readInt()];
+				in.readFully(json);
+				tags = (Map<String, Object>) gson.fromJson(new String(json, StandardCharsets.UTF_8), Object.class);
+			}
+			int stateCount = in.readInt();
+			Map<String, String> blockStates = new HashMap<>(stateCount);
+			for (int i = 0; i < stateCount; i++)
+				blockStates.put(in.readUTF(), in.readUTF());
+			return new Definition(name, id, tags, blockStates);
+		}
+
+	}
+
+}
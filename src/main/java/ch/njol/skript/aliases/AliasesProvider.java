@@ -169,6 +169,12 @@ public class AliasesProvider {
 	 * Allows looking up aliases based on item datas created runtime.
 	 */
 	private final AliasesMap aliasesMap;
+
+	/**
+	 * Records the aliases that are added to this provider, or null if they are not recorded.
+	 */
+	@Nullable
+	private AliasesCache recorder;
 	
 	/**
 	 * Constructs a new aliases provider with no data.
@@ -273,6 +279,9 @@ public class AliasesProvider {
 	 * @param blockStates Block states.
 	 */
 	public void addAlias(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		if (recorder != null)
+			recorder.record(name, id, tags, blockStates);
+
 		// First, try to find if aliases already has a type with this id
 		// (so that aliases can refer to each other)
 		ItemType typeOfId = getAlias(id);
@@ -361,6 +370,14 @@ public class AliasesProvider {
 		}
 	}
 	
+	/**
+	 * Sets the cache that records the aliases added to this provider.
+	 * @param recorder The cache, or null to stop recording.
+	 */
+	void setRecorder(@Nullable AliasesCache recorder) {
+		this.recorder = recorder;
+	}
+	
 	public void addVariationGroup(String name, VariationGroup group) {
 		variations.put(name, group);
 	}
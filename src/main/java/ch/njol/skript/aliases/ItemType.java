@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -112,6 +113,14 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	final ArrayList<ItemData> types = new ArrayList<>(2);
 
+	/**
+	 * The ItemDatas of {@link #types} by their material, built when this ItemType is first compared with an item.
+	 * This is reset whenever {@link #types} changes. Changes of the ItemDatas themselves don't affect it,
+	 * as their material never changes.
+	 */
+	@Nullable
+	private transient volatile MaterialIndex index;
+
 	/**
 	 * Whether this ItemType represents all types or not.
 	 */
@@ -229,6 +238,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		for (final ItemData d : i) {
 			types.add(d.clone());
 		}
+		index = null;
 	}
 
 	public ItemType(Block block) {
@@ -240,6 +250,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	public void modified() {
 		item = block = null;
+		index = null;
 	}
 
 	/**
@@ -290,6 +301,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable ItemStack item) {
 		if (item == null)
 			return isOfType(Material.AIR, null);
+		if (rejects(item.getType()))
+			return false;
 		return isOfType(new ItemData(item));
 	}
 
@@ -304,6 +317,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable BlockData blockData) {
 		if (blockData == null)
 			return isOfType(Material.AIR, null);
+		if (rejects(blockData.getMaterial()))
+			return false;
 
 		return isOfType(new ItemData(blockData));
 	}
@@ -311,11 +326,13 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable Block block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
+		if (rejects(block.getType()))
+			return false;
 		return isOfType(block.getBlockData());
 	}
 
 	public boolean isOfType(ItemData type) {
-		for (final ItemData myType : types) {
+		for (final ItemData myType : candidates(type)) {
 			if (myType.equals(type)) {
 				return true;
 			}
@@ -339,7 +356,92 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 * @return Whether this is supertype of the given item type.
 	 */
 	public boolean isSupertypeOf(ItemType other) {
-		return types.containsAll(other.types);
+		outer: for (ItemData otherType : other.types) {
+			for (ItemData myType : candidates(otherType)) {
+				if (otherType.equals(myType))
+					continue outer;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * ItemTypes with at most this many ItemDatas are searched directly instead of building a {@link MaterialIndex}.
+	 */
+	private static final int MIN_INDEXED_TYPES = 8;
+
+	/**
+	 * @return Whether no ItemData of this ItemType can be equal to an item of the given material.
+	 */
+	private boolean rejects(Material material) {
+		if (types.size() < MIN_INDEXED_TYPES) {
+			for (ItemData type : types) {
+				if (type.isAnything || type.getType() == material)
+					return false;
+			}
+			return true;
+		}
+		return getIndex().rejects(material);
+	}
+
+	/**
+	 * @return The ItemDatas of this ItemType that may be equal to the given one, in their order.
+	 */
+	private List<ItemData> candidates(ItemData type) {
+		if (types.size() < MIN_INDEXED_TYPES)
+			return types;
+		return getIndex().candidates(type);
+	}
+
+	private MaterialIndex getIndex() {
+		MaterialIndex index = this.index;
+		if (index == null)
+			this.index = index = new MaterialIndex(types);
+		return index;
+	}
+
+	/**
+	 * Groups the ItemDatas of an ItemType by their material, as an ItemData can only be equal to another one
+	 * with the same material, unless either of them represents anything.
+	 */
+	private static final class MaterialIndex {
+
+		private final List<ItemData> types;
+		private final Map<Material, List<ItemData>> byMaterial = new HashMap<>();
+
+		/**
+		 * Whether one of the ItemDatas represents anything, so no item can be rejected by its material.
+		 */
+		private final boolean anything;
+
+		MaterialIndex(List<ItemData> types) {
+			this.types = new ArrayList<>(types);
+			boolean anything = false;
+			for (ItemData type : this.types) {
+				anything |= type.isAnything;
+				byMaterial.computeIfAbsent(type.getType(), material -> new ArrayList<>(1)).add(type);
+			}
+			this.anything = anything;
+		}
+
+		/**
+		 * @return Whether no ItemData can be equal to an item of the given material.
+		 */
+		boolean rejects(Material material) {
+			return !anything && !byMaterial.containsKey(material);
+		}
+
+		/**
+		 * @return The ItemDatas that may be equal to the given one, in their order in the ItemType.
+		 */
+		List<ItemData> candidates(ItemData type) {
+			if (anything || type.isAnything)
+				return types;
+			List<ItemData> candidates = byMaterial.get(type.getType());
+			return candidates == null ? Collections.emptyList() : candidates;
+		}
+
 	}
 
 	public ItemType getItem() {
@@ -102,7 +102,10 @@ public abstract class Serializer<T> extends YggdrasilSerializer<T> {
 	public abstract void deserialize(T o, Fields f) throws StreamCorruptedException, NotSerializableException;
 	
 	/**
-	 * Not currently used (everything happens on Bukkit's main thread).
+	 * Used when variables are loaded with {@link ch.njol.skript.SkriptConfig#parallelVariableLoading parallel variable loading}:
+	 * values of types returning false may then be deserialised by other threads than Bukkit's main thread,
+	 * so {@link #deserialize(Fields)} and {@link #deserialize(Object, Fields)} must be thread-safe for them.
+	 * Many existing serialisers have not been verified to be thread-safe yet, which is why parallel loading is disabled by default.
 	 * 
 	 * @return Whether deserialisation must be done on Bukkit's main thread.
 	 */
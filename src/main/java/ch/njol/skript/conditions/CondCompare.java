@@ -207,8 +207,11 @@ public class CondCompare extends Condition implements VerboseAssert {
 		}
 		Class<?> firstReturnType = first.getReturnType();
 		Class<?> secondReturnType = third == null ? second.getReturnType() : Utils.getSuperType(second.getReturnType(), third.getReturnType());
-		if (firstReturnType == Object.class || secondReturnType == Object.class)
+		if (firstReturnType == Object.class || secondReturnType == Object.class) {
+			// the comparator depends on the compared values, bind one that remembers it for the values' types
+			comparator = Comparators.bindComparator(firstReturnType, secondReturnType);
 			return true;
+		}
 
 		comparator = Comparators.getComparator(firstReturnType, secondReturnType);
 
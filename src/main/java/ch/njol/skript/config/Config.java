@@ -28,10 +28,10 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.nio.channels.Channels;
-import java.nio.channels.FileChannel;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.regex.Pattern;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -55,6 +55,15 @@ public class Config implements Comparable<Config> {
 	 */
 	private String indentationName = "tab";
 	
+	/**
+	 * Compiled patterns of lines indented by the level of their index, see {@link #getIndentationPattern(int, boolean)}.
+	 * These are used for every line while loading, and are reset when the indentation changes.
+	 */
+	private Pattern[] indentationPatterns = new Pattern[0];
+	private Pattern[] overIndentationPatterns = new Pattern[0];
+	@Nullable
+	private Pattern anyIndentationPattern;
+	
 	final String defaultSeparator;
 	String separator;
 	
@@ -86,29 +95,56 @@ public class Config implements Comparable<Config> {
 				return;
 			}
 			
-			if (Skript.logVeryHigh())
-				Skript.info("loading '" + fileName + "'");
-			
-			try (ConfigReader reader = new ConfigReader(source)) {
-				main = SectionNode.load(this, reader);
-			}
+			main = load(new ConfigReader(source));
 		} finally {
 			source.close();
 		}
 	}
 	
+	/**
+	 * Loads a config from content that has already been read, e.g. using {@link ConfigReader#read(Path)}.
+	 * This avoids the copies made when reading through a stream.
+	 */
+	public Config(final ByteBuffer source, final String fileName, @Nullable final File file, final boolean simple, final boolean allowEmptySections, final String defaultSeparator) throws IOException {
+		this.fileName = fileName;
+		if (file != null) // Must check for null before converting to path
+			this.file = file.toPath();
+		this.simple = simple;
+		this.allowEmptySections = allowEmptySections;
+		this.defaultSeparator = defaultSeparator;
+		separator = defaultSeparator;
+		
+		if (!source.hasRemaining()) {
+			main = new SectionNode(this);
+			Skript.warning("'" + getFileName() + "' is empty");
+			return;
+		}
+		
+		main = load(new ConfigReader(source));
+	}
+	
+	private SectionNode load(final ConfigReader reader) throws IOException {
+		if (Skript.logVeryHigh())
+			Skript.info("loading '" + fileName + "'");
+		
+		try {
+			return SectionNode.load(this, reader);
+		} finally {
+			reader.close();
+		}
+	}
+	
 	public Config(final InputStream source, final String fileName, final boolean simple, final boolean allowEmptySections, final String defaultSeparator) throws IOException {
 		this(source, fileName, null, simple, allowEmptySections, defaultSeparator);
 	}
 	
 	public Config(final File file, final boolean simple, final boolean allowEmptySections, final String defaultSeparator) throws IOException {
-		this(Files.newInputStream(file.toPath()), file.getName(), simple, allowEmptySections, defaultSeparator);
-		this.file = file.toPath();
+		this(ConfigReader.read(file.toPath()), file.getName(), file, simple, allowEmptySections, defaultSeparator);
 	}
 	
 	@SuppressWarnings("null")
 	public Config(final Path file, final boolean simple, final boolean allowEmptySections, final String defaultSeparator) throws IOException {
-		this(Channels.newInputStream(FileChannel.open(file)), "" + file.getFileName(), simple, allowEmptySections, defaultSeparator);
+		this(ConfigReader.read(file), "" + file.getFileName(), null, simple, allowEmptySections, defaultSeparator);
 		this.file = file;
 	}
 	
@@ -130,6 +166,41 @@ public class Config implements Comparable<Config> {
 		assert indent != null && !indent.isEmpty() : indent;
 		indentation = indent;
 		indentationName = (indent.charAt(0) == ' ' ? "space" : "tab");
+		indentationPatterns = new Pattern[0];
+		overIndentationPatterns = new Pattern[0];
+		anyIndentationPattern = null;
+	}
+	
+	/**
+	 * @param level The amount of indentations.
+	 * @param overIndented Whether the pattern matches lines with more whitespace after the indentation,
+	 * instead of lines with a non-whitespace character after it.
+	 * @return A pattern matching lines that start with exactly the given amount of indentations.
+	 */
+	Pattern getIndentationPattern(final int level, final boolean overIndented) {
+		Pattern[] patterns = overIndented ? overIndentationPatterns : indentationPatterns;
+		if (level >= patterns.length) {
+			patterns = Arrays.copyOf(patterns, level + 1);
+			if (overIndented) {
+				overIndentationPatterns = patterns;
+			} else {
+				indentationPatterns = patterns;
+			}
+		}
+		Pattern pattern = patterns[level];
+		if (pattern == null)
+			pattern = patterns[level] = Pattern.compile("^(" + indentation + "){" + level + "}" + (overIndented ? "\\s" : "\\S") + ".*");
+		return pattern;
+	}
+	
+	/**
+	 * @return A pattern matching lines that start with any amount of indentations, followed by a non-whitespace character.
+	 */
+	Pattern getAnyIndentationPattern() {
+		Pattern pattern = anyIndentationPattern;
+		if (pattern == null)
+			pattern = anyIndentationPattern = Pattern.compile("^(" + indentation + ")*\\S.*");
+		return pattern;
 	}
 	
 	String getIndentation() {
@@ -22,7 +22,12 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -34,6 +39,12 @@ public class ConfigReader extends BufferedReader {
 	@SuppressWarnings("null")
 	public final static Charset UTF_8 = Charset.forName("UTF-8");
 	
+	/**
+	 * The decoded content lines are read from if this reader was created from a buffer, positioned at the next line.
+	 */
+	@Nullable
+	private final CharBuffer content;
+	
 	@Nullable
 	private String line;
 	private boolean reset = false;
@@ -43,6 +54,36 @@ public class ConfigReader extends BufferedReader {
 	
 	public ConfigReader(final InputStream source) {
 		super(new InputStreamReader(source, UTF_8));
+		content = null;
+	}
+	
+	/**
+	 * Creates a reader that reads lines directly from the given UTF-8 encoded content,
+	 * which is decoded at once instead of being copied through the buffers of a stream and a reader.
+	 * 
+	 * @param source The content, e.g. from {@link #read(Path)}.
+	 */
+	public ConfigReader(final ByteBuffer source) {
+		super(Reader.nullReader());
+		content = UTF_8.decode(source);
+	}
+	
+	/**
+	 * Reads the whole file into a buffer with a single read of its channel.
+	 * 
+	 * @param file The file to read.
+	 * @return The content of the file, ready to be read.
+	 */
+	public static ByteBuffer read(final Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("'" + file + "' is too large to be read");
+			final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) != -1);
+			buffer.flip();
+			return buffer;
+		}
 	}
 	
 	@Override
@@ -51,12 +92,39 @@ public class ConfigReader extends BufferedReader {
 		if (reset) {
 			reset = false;
 		} else {
-			line = stripUTF8BOM(super.readLine());
+			final CharBuffer content = this.content;
+			line = stripUTF8BOM(content == null ? super.readLine() : readLine(content));
 			ln++;
 		}
 		return line;
 	}
 	
+	/**
+	 * Reads a line from the decoded content the same way {@link BufferedReader#readLine()} does,
+	 * i.e. a line ends with '\n', '\r' or "\r\n", which are not included in the line.
+	 */
+	@Nullable
+	private static String readLine(final CharBuffer content) {
+		if (!content.hasRemaining())
+			return null;
+		final int start = content.position();
+		final int limit = content.limit();
+		int end = start;
+		while (end < limit) {
+			final char c = content.get(end);
+			if (c == '\n' || c == '\r')
+				break;
+			end++;
+		}
+		final String line = content.hasArray()
+			? new String(content.array(), content.arrayOffset() + start, end - start)
+			: content.subSequence(0, end - start).toString();
+		if (end < limit && content.get(end) == '\r' && end + 1 < limit && content.get(end + 1) == '\n')
+			end++;
+		content.position(Math.min(end + 1, limit));
+		return line;
+	}
+	
 	@Nullable
 	private final String stripUTF8BOM(final @Nullable String line) {
 		if (!hasNonEmptyLine && line != null && !line.isEmpty()) {
@@ -152,7 +152,8 @@ public abstract class Node {
 
 		// idea: find first # that is not within a string or variable name. Use state machine to determine whether a # is a comment or not.
 		int length = line.length();
-		StringBuilder finalLine = new StringBuilder(line);
+		// only copied once a ## has to be removed, most lines are returned as they are
+		StringBuilder finalLine = null;
 		int numRemoved = 0;
 		SplitLineState state = SplitLineState.CODE;
 		SplitLineState previousState = SplitLineState.CODE; // stores the state prior to entering %, so it can be re-set when leaving
@@ -164,6 +165,8 @@ public abstract class Node {
 				// skip if doubled (only skip ## outside of strings)
 				if ((c != '#' || state != SplitLineState.STRING) && i + 1 < length && line.charAt(i + 1) == c) {
 					if (c == '#') { // remove duplicate #
+						if (finalLine == null)
+							finalLine = new StringBuilder(line);
 						finalLine.deleteCharAt(i - numRemoved);
 						numRemoved++;
 					}
@@ -173,13 +176,13 @@ public abstract class Node {
 				SplitLineState tmp = state;
 				state = SplitLineState.update(c, state, previousState);
 				if (state == SplitLineState.HALT)
-					return new NonNullPair<>(finalLine.substring(0, i - numRemoved), line.substring(i));
+					return new NonNullPair<>(finalLine == null ? line.substring(0, i) : finalLine.substring(0, i - numRemoved), line.substring(i));
 				// only update previous state when we go from !CODE -> CODE due to %
 				if (c == '%' && state == SplitLineState.CODE)
 					previousState = tmp;
 			}
 		}
-		return new NonNullPair<>(finalLine.toString(), "");
+		return new NonNullPair<>(finalLine == null ? line : finalLine.toString(), "");
 	}
 
 	/**
@@ -268,6 +268,8 @@ public class SectionNode extends Node implements Iterable<Node> {
 	}
 	
 	private static final Pattern fullLinePattern = Pattern.compile("([^#]|##)*#-#(\\s.*)?");
+	private static final Pattern whitespacePattern = Pattern.compile("\\s*");
+	private static final Pattern nonWhitespaceStartPattern = Pattern.compile("\\S.*");
 	
 	private SectionNode load_i(final ConfigReader r) throws IOException {
 		boolean indentationSet = false;
@@ -284,7 +286,8 @@ public class SectionNode extends Node implements Iterable<Node> {
 			final String comment = line.getSecond();
 			
 			final SectionNode parent = this.parent;
-			if (!indentationSet && parent != null && parent.parent == null && !value.isEmpty() && !value.matches("\\s*") && !value.matches("\\S.*")) {
+			final boolean isWhitespace = whitespacePattern.matcher(value).matches();
+			if (!indentationSet && parent != null && parent.parent == null && !value.isEmpty() && !isWhitespace && !nonWhitespaceStartPattern.matcher(value).matches()) {
 				final String s = value.replaceFirst("\\S.*$", "");
 				assert !s.isEmpty() : fullLine;
 				if (s.matches(" +") || s.matches("\t+")) {
@@ -296,8 +299,8 @@ public class SectionNode extends Node implements Iterable<Node> {
 					continue;
 				}
 			}
-			if (!value.matches("\\s*") && !value.matches("^(" + config.getIndentation() + "){" + config.level + "}\\S.*")) {
-				if (value.matches("^(" + config.getIndentation() + "){" + config.level + "}\\s.*") || !value.matches("^(" + config.getIndentation() + ")*\\S.*")) {
+			if (!isWhitespace && !config.getIndentationPattern(config.level, false).matcher(value).matches()) {
+				if (config.getIndentationPattern(config.level, true).matcher(value).matches() || !config.getAnyIndentationPattern().matcher(value).matches()) {
 					nodes.add(new InvalidNode(value, comment, this, r.getLineNum()));
 					final String s = "" + value.replaceFirst("\\S.*$", "");
 					Skript.error("indentation error: expected " + config.level * config.getIndentation().length() + " " + config.getIndentationName() + (config.level * config.getIndentation().length() == 1 ? "" : "s") + ", but found " + readableWhitespace(s));
@@ -28,19 +28,16 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Timespan;
+import ch.njol.skript.util.TimingWheel;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
-import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.WeakHashMap;
-
 @Name("Delay")
 @Description("Delays the script's execution by a given timespan. Please note that delays are not persistent, e.g. trying to create a tempban script with <code>ban player → wait 7 days → unban player</code> will not work if you restart your server anytime within these 7 days. You also have to be careful even when using small delays!")
 @Examples({
@@ -81,16 +78,17 @@ public class Delay extends Effect {
 		long start = Skript.debug() ? System.nanoTime() : 0;
 		TriggerItem next = getNext();
 		if (next != null && Skript.getInstance().isEnabled()) { // See https://github.com/SkriptLang/Skript/issues/3702
-			addDelayedEvent(event);
-
 			Timespan duration = this.duration.getSingle(event);
 			if (duration == null)
 				return null;
-			
+
+			// Only marked once the continuation is certain to run, which finishes the delay
+			addDelayedEvent(event);
+
 			// Back up local variables
 			Object localVars = Variables.removeLocals(event);
 			
-			Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), () -> {
+			TimingWheel.schedule(() -> {
 				Skript.debug(getIndentation() + "... continuing after " + (System.nanoTime() - start) / 1_000_000_000. + "s");
 
 				// Re-set local variables
@@ -106,6 +104,7 @@ public class Delay extends Effect {
 
 				TriggerItem.walk(next, event);
 				Variables.removeLocals(event); // Clean up local vars, we may be exiting now
+				TriggerFrame.finishDelay(event);
 
 				SkriptTimings.stop(timing); // Stop timing if it was even started
 			}, Math.max(duration.getTicks(), 1)); // Minimum delay is one tick, less than it is useless!
@@ -123,16 +122,14 @@ public class Delay extends Effect {
 		return "wait for " + duration.toString(event, debug) + (event == null ? "" : "...");
 	}
 
-	private static final Set<Event> DELAYED =
-		Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
-
 	/**
 	 * The main method for checking if the execution of {@link TriggerItem}s has been delayed.
 	 * @param event The event to check for a delay.
 	 * @return Whether {@link TriggerItem} execution has been delayed.
 	 */
 	public static boolean isDelayed(Event event) {
-		return DELAYED.contains(event);
+		TriggerFrame frame = TriggerFrame.find(event);
+		return frame != null && frame.isDelayed();
 	}
 
 	/**
@@ -140,7 +137,7 @@ public class Delay extends Effect {
 	 * @param event The event to mark as delayed.
 	 */
 	public static void addDelayedEvent(Event event) {
-		DELAYED.add(event);
+		TriggerFrame.setDelayed(event);
 	}
 
 }
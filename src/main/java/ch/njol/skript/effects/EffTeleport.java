@@ -29,6 +29,7 @@ import ch.njol.skript.lang.Effect;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Direction;
@@ -170,6 +171,7 @@ public class EffTeleport extends Effect {
 				TriggerItem.walk(next, e);
 			}
 			Variables.removeLocals(e); // Clean up local vars, we may be exiting now
+			TriggerFrame.finishDelay(e);
 			SkriptTimings.stop(timing);
 		});
 		return null;
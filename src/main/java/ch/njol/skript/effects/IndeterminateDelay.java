@@ -23,6 +23,7 @@ import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.util.Timespan;
 import ch.njol.skript.variables.Variables;
@@ -41,10 +42,10 @@ public class IndeterminateDelay extends Delay {
 		TriggerItem next = getNext();
 
 		if (next != null && Skript.getInstance().isEnabled()) { // See https://github.com/SkriptLang/Skript/issues/3702
-			Delay.addDelayedEvent(event);
 			Timespan duration = this.duration.getSingle(event);
 			if (duration == null)
 				return null;
+			Delay.addDelayedEvent(event);
 			
 			// Back up local variables
 			Object localVars = Variables.removeLocals(event);
@@ -57,6 +58,7 @@ public class IndeterminateDelay extends Delay {
 					Variables.setLocalVariables(event, localVars);
 
 				TriggerItem.walk(next, event);
+				TriggerFrame.finishDelay(event);
 			}, duration.getTicks());
 		}
 
@@ -26,7 +26,7 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.util.Timespan;
-import org.bukkit.Bukkit;
+import ch.njol.skript.util.TimingWheel;
 import org.bukkit.World;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
@@ -57,7 +57,7 @@ public class EvtPeriodical extends SkriptEvent {
 	private Timespan period;
 
 	@SuppressWarnings("NotNullFieldNotInitialized")
-	private int[] taskIDs;
+	private TimingWheel.Handle[] tasks;
 
 	private World @Nullable [] worlds;
 
@@ -75,18 +75,14 @@ public class EvtPeriodical extends SkriptEvent {
 		long ticks = period.getTicks();
 
 		if (worlds == null) {
-			taskIDs = new int[]{
-				Bukkit.getScheduler().scheduleSyncRepeatingTask(
-					Skript.getInstance(), () -> execute(null), ticks, ticks
-				)
+			tasks = new TimingWheel.Handle[]{
+				TimingWheel.scheduleRepeating(() -> execute(null), ticks, ticks)
 			};
 		} else {
-			taskIDs = new int[worlds.length];
+			tasks = new TimingWheel.Handle[worlds.length];
 			for (int i = 0; i < worlds.length; i++) {
 				World world = worlds[i];
-				taskIDs[i] = Bukkit.getScheduler().scheduleSyncRepeatingTask(
-					Skript.getInstance(), () -> execute(world), ticks - (world.getFullTime() % ticks), ticks
-				);
+				tasks[i] = TimingWheel.scheduleRepeating(() -> execute(world), ticks - (world.getFullTime() % ticks), ticks);
 			}
 		}
 
@@ -95,8 +91,8 @@ public class EvtPeriodical extends SkriptEvent {
 
 	@Override
 	public void unload() {
-		for (int taskID : taskIDs)
-			Bukkit.getScheduler().cancelTask(taskID);
+		for (TimingWheel.Handle task : tasks)
+			task.cancel();
 	}
 
 	@Override
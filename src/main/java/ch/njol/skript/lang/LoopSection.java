@@ -31,16 +31,43 @@ import java.util.WeakHashMap;
  */
 public abstract class LoopSection extends Section implements SyntaxElement, Debuggable, SectionExitHandler {
 
+	/**
+	 * @deprecated Loop counters are kept in the {@link TriggerFrame} of the event,
+	 * use {@link #increaseLoopCounter(Event)} instead.
+	 * Counters in this map are still returned by {@link #getLoopCounter(Event)} if the frame has none.
+	 */
+	@Deprecated
 	protected final transient Map<Event, Long> currentLoopCounter = new WeakHashMap<>();
 
+	private final int counterSlot = TriggerFrame.allocateSlot();
+
 	/**
 	 * @param event The event where the loop is used to return its loop iterations
 	 * @return The loop iteration number
 	 */
 	public long getLoopCounter(Event event) {
+		TriggerFrame frame = TriggerFrame.find(event);
+		long[] counter = frame == null ? null : (long[]) frame.getSlot(counterSlot, this);
+		if (counter != null)
+			return counter[0];
 		return currentLoopCounter.getOrDefault(event, 1L);
 	}
 
+	/**
+	 * Increases the iteration number of this loop by one, starting at one.
+	 * @param event The event where the loop is used
+	 * @return The new loop iteration number
+	 */
+	protected final long increaseLoopCounter(Event event) {
+		TriggerFrame frame = TriggerFrame.of(event);
+		long[] counter = (long[]) frame.getSlot(counterSlot, this);
+		if (counter == null) {
+			counter = new long[1];
+			frame.setSlot(counterSlot, this, counter);
+		}
+		return ++counter[0];
+	}
+
 	/**
 	 * @return The next {@link TriggerItem} after the loop
 	 */
@@ -52,7 +79,11 @@ public abstract class LoopSection extends Section implements SyntaxElement, Debu
 	 */
 	@Override
 	public void exit(Event event) {
-		currentLoopCounter.remove(event);
+		TriggerFrame frame = TriggerFrame.find(event);
+		if (frame != null)
+			frame.setSlot(counterSlot, this, null);
+		if (!currentLoopCounter.isEmpty())
+			currentLoopCounter.remove(event);
 	}
 
 }
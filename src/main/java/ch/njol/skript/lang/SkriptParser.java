@@ -26,11 +26,15 @@ import ch.njol.skript.command.Argument;
 import ch.njol.skript.command.Commands;
 import ch.njol.skript.command.ScriptCommand;
 import ch.njol.skript.command.ScriptCommandEvent;
+import ch.njol.skript.config.Node;
 import ch.njol.skript.expressions.ExprParse;
 import ch.njol.skript.lang.function.ExprFunctionCall;
 import ch.njol.skript.lang.function.FunctionReference;
 import ch.njol.skript.lang.function.Functions;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.parser.ScriptParseCache;
+import ch.njol.skript.lang.parser.ScriptParseCache.Hint;
+import ch.njol.skript.lang.parser.ScriptParseCache.ScriptHints;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.Message;
@@ -38,6 +42,7 @@ import ch.njol.skript.log.ErrorQuality;
 import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.patterns.KeywordIndex;
 import ch.njol.skript.patterns.MalformedPatternException;
 import ch.njol.skript.patterns.PatternCompiler;
 import ch.njol.skript.patterns.SkriptPattern;
@@ -51,6 +56,7 @@ import ch.njol.util.coll.CollectionUtils;
 import com.google.common.primitives.Booleans;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.eclipse.jdt.annotation.Nullable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.skriptlang.skript.lang.script.Script;
 import org.skriptlang.skript.lang.script.ScriptWarning;
@@ -58,10 +64,12 @@ import org.skriptlang.skript.lang.script.ScriptWarning;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
@@ -89,6 +97,18 @@ public class SkriptParser {
 
 	public final ParseContext context;
 
+	/**
+	 * {@link #expr} in lower case, computed once when first needed.
+	 */
+	@Nullable
+	private String lowerExpr;
+
+	/**
+	 * The patterns of {@link #keywordIndex} that may match {@link #expr}, computed once when first needed.
+	 */
+	@Nullable
+	private KeywordIndex.Candidates candidates;
+
 	public SkriptParser(String expr) {
 		this(expr, ALL_FLAGS);
 	}
@@ -220,51 +240,51 @@ public class SkriptParser {
 	private <T extends SyntaxElement> T parse(Iterator<? extends SyntaxElementInfo<? extends T>> source) {
 		ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		try {
-			while (source.hasNext()) {
-				SyntaxElementInfo<? extends T> info = source.next();
-				patternsLoop: for (int patternIndex = 0; patternIndex < info.patterns.length; patternIndex++) {
-					log.clear();
-					try {
-						String pattern = info.patterns[patternIndex];
-						assert pattern != null;
-						ParseResult parseResult;
-						try {
-							parseResult = parse_i(pattern);
-						} catch (MalformedPatternException e) {
-							String message = "pattern compiling exception, element class: " + info.getElementClass().getName();
-							try {
-								JavaPlugin providingPlugin = JavaPlugin.getProvidingPlugin(info.getElementClass());
-								message += " (provided by " + providingPlugin.getName() + ")";
-							} catch (IllegalArgumentException | IllegalStateException ignored) {}
-							throw new RuntimeException(message, e);
-
-						}
-						if (parseResult != null) {
-							assert parseResult.source != null; // parse results from parse_i have a source
-							List<TypePatternElement> types = null;
-							for (int i = 0; i < parseResult.exprs.length; i++) {
-								if (parseResult.exprs[i] == null) {
-									if (types == null)
-										types = parseResult.source.getElements(TypePatternElement.class);;
-									ExprInfo exprInfo = types.get(i).getExprInfo();
-									if (!exprInfo.isOptional) {
-										DefaultExpression<?> expr = getDefaultExpression(exprInfo, info.patterns[patternIndex]);
-										if (!expr.init())
-											continue patternsLoop;
-										parseResult.exprs[i] = expr;
-									}
+			// try what this expression was parsed as the last time the script was loaded
+			ScriptHints scriptHints = ScriptParseCache.getActiveHints();
+			Node node = getParser().getNode();
+			String hintKey = null;
+			if (scriptHints != null && node != null) {
+				hintKey = node.getLine() + ":" + context.name() + ':' + flags + ':' + expr;
+				Hint[] hints = scriptHints.get(hintKey);
+				if (hints != null) {
+					List<SyntaxElementInfo<? extends T>> infos = new ArrayList<>();
+					source.forEachRemaining(infos::add);
+					for (Hint hint : hints) {
+						// the elements before the hinted one failed to parse this expression when the hint was recorded
+						int priorElements = 0;
+						for (SyntaxElementInfo<? extends T> info : infos) {
+							if (hint.isFor(info, priorElements)) {
+								T element = parse(info, hint.getPatternIndex(), log, null);
+								if (element != null) {
+									scriptHints.record(hintKey, info, hint.getPatternIndex(), priorElements);
+									log.printLog();
+									return element;
 								}
+								break;
 							}
-							T element = info.getElementClass().newInstance();
-							if (element.init(parseResult.exprs, patternIndex, getParser().getHasDelayBefore(), parseResult)) {
-								log.printLog();
-								return element;
-							}
+							priorElements = ScriptParseCache.hashPriorElements(priorElements, info);
 						}
-					} catch (InstantiationException | IllegalAccessException e) {
-						assert false;
+					}
+					source = infos.iterator();
+				}
+			}
+
+			KeywordIndex.Candidates candidates = getCandidates();
+			int priorElements = 0;
+			while (source.hasNext()) {
+				SyntaxElementInfo<? extends T> info = source.next();
+				for (int patternIndex = 0; patternIndex < info.patterns.length; patternIndex++) {
+					T element = parse(info, patternIndex, log, candidates);
+					if (element != null) {
+						if (hintKey != null)
+							scriptHints.record(hintKey, info, patternIndex, priorElements);
+						log.printLog();
+						return element;
 					}
 				}
+				if (hintKey != null)
+					priorElements = ScriptParseCache.hashPriorElements(priorElements, info);
 			}
 			log.printError();
 			return null;
@@ -273,6 +293,58 @@ public class SkriptParser {
 		}
 	}
 
+	/**
+	 * Tries to parse the expression as a single pattern of a syntax element.
+	 * @param candidates If not null, the pattern is skipped if it is not one of the candidates.
+	 * @return The initialised element, or null if the pattern did not match or the element could not be initialised.
+	 */
+	@Nullable
+	private <T extends SyntaxElement> T parse(SyntaxElementInfo<? extends T> info, int patternIndex, ParseLogHandler log, KeywordIndex.@Nullable Candidates candidates) {
+		log.clear();
+		try {
+			String pattern = info.patterns[patternIndex];
+			assert pattern != null;
+			ParseResult parseResult;
+			try {
+				SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+				if (candidates != null && !candidates.test(skriptPattern))
+					return null;
+				parseResult = parse_i(skriptPattern);
+			} catch (MalformedPatternException e) {
+				String message = "pattern compiling exception, element class: " + info.getElementClass().getName();
+				try {
+					JavaPlugin providingPlugin = JavaPlugin.getProvidingPlugin(info.getElementClass());
+					message += " (provided by " + providingPlugin.getName() + ")";
+				} catch (IllegalArgumentException | IllegalStateException ignored) {}
+				throw new RuntimeException(message, e);
+
+			}
+			if (parseResult != null) {
+				assert parseResult.source != null; // parse results from parse_i have a source
+				List<TypePatternElement> types = null;
+				for (int i = 0; i < parseResult.exprs.length; i++) {
+					if (parseResult.exprs[i] == null) {
+						if (types == null)
+							types = parseResult.source.getElements(TypePatternElement.class);;
+						ExprInfo exprInfo = types.get(i).getExprInfo();
+						if (!exprInfo.isOptional) {
+							DefaultExpression<?> expr = getDefaultExpression(exprInfo, info.patterns[patternIndex]);
+							if (!expr.init())
+								return null;
+							parseResult.exprs[i] = expr;
+						}
+					}
+				}
+				T element = info.getElementClass().newInstance();
+				if (element.init(parseResult.exprs, patternIndex, getParser().getHasDelayBefore(), parseResult))
+					return element;
+			}
+		} catch (InstantiationException | IllegalAccessException e) {
+			assert false;
+		}
+		return null;
+	}
+
 	private static <T extends SyntaxElement> @NotNull DefaultExpression<?> getDefaultExpression(ExprInfo exprInfo, String pattern) {
 		DefaultExpression<?> expr = exprInfo.classes[0].getDefaultExpression();
 		if (expr == null)
@@ -1317,10 +1389,61 @@ public class SkriptParser {
 
 	private static final Map<String, SkriptPattern> patterns = new ConcurrentHashMap<>();
 
+	/**
+	 * An index of the patterns of all syntax elements, built once registrations have stopped.
+	 */
+	@Nullable
+	private static volatile KeywordIndex keywordIndex;
+
+	/**
+	 * Compiles the patterns of all registered syntax elements and indexes them by their keywords,
+	 * so that {@link #parse(String, Iterator, String)} only tries the patterns that may match an expression.
+	 */
+	@ApiStatus.Internal
+	public static void onRegistrationsStop() {
+		Set<SkriptPattern> indexedPatterns = new LinkedHashSet<>();
+		List<SyntaxElementInfo<?>> infos = new ArrayList<>();
+		infos.addAll(Skript.getStatements());
+		infos.addAll(Skript.getSections());
+		infos.addAll(Skript.getStructures());
+		infos.addAll(Skript.getEvents());
+		Skript.getExpressions().forEachRemaining(infos::add);
+		for (SyntaxElementInfo<?> info : infos) {
+			for (String pattern : info.patterns) {
+				try {
+					indexedPatterns.add(patterns.computeIfAbsent(pattern, PatternCompiler::compile));
+				} catch (MalformedPatternException ignored) {
+					// reported when the pattern is used
+				}
+			}
+		}
+		keywordIndex = KeywordIndex.build(indexedPatterns);
+	}
+
+	@Nullable
+	private KeywordIndex.Candidates getCandidates() {
+		KeywordIndex keywordIndex = SkriptParser.keywordIndex;
+		if (keywordIndex == null)
+			return null;
+		if (candidates == null)
+			candidates = keywordIndex.getCandidates(getLowerExpr());
+		return candidates;
+	}
+
+	private String getLowerExpr() {
+		if (lowerExpr == null)
+			lowerExpr = expr.toLowerCase(Locale.ENGLISH);
+		return lowerExpr;
+	}
+
 	@Nullable
 	private ParseResult parse_i(String pattern) {
-		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
-		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
+		return parse_i(patterns.computeIfAbsent(pattern, PatternCompiler::compile));
+	}
+
+	@Nullable
+	private ParseResult parse_i(SkriptPattern skriptPattern) {
+		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, getLowerExpr(), flags, context);
 		if (matchResult == null)
 			return null;
 		return matchResult.toParseResult();
@@ -32,7 +32,6 @@ public class Trigger extends TriggerSection {
 
 	@Nullable
 	private final Script script;
-	private int line = -1; // -1 is default: it means there is no line number available
 	private String debugLabel;
 
 	public Trigger(@Nullable Script script, String name, SkriptEvent event, List<TriggerItem> items) {
@@ -49,10 +48,17 @@ public class Trigger extends TriggerSection {
 	 * @return false if an exception occurred.
 	 */
 	public boolean execute(Event event) {
-		boolean success = TriggerItem.walk(this, event);
-
-		// Clear local variables
-		Variables.removeLocals(event);
+		// the frame is entered here so that local variables are cleared before it is left, and it isn't registered
+		TriggerFrame.enter(event);
+		boolean success;
+		try {
+			success = TriggerItem.walk(this, event);
+
+			// Clear local variables
+			Variables.removeLocals(event);
+		} finally {
+			TriggerFrame.exit();
+		}
 		/*
 		 * Local variables can be used in delayed effects by backing reference
 		 * of VariablesMap up. Basically:
@@ -99,22 +105,6 @@ public class Trigger extends TriggerSection {
 		return script;
 	}
 
-	/**
-	 * Sets line number for this trigger's start.
-	 * Only used for debugging.
-	 * @param line Line number
-	 */
-	public void setLineNumber(int line) {
-		this.line  = line;
-	}
-
-	/**
-	 * @return The line number where this trigger starts. This should ONLY be used for debugging!
-	 */
-	public int getLineNumber() {
-		return line;
-	}
-
 	public void setDebugLabel(String label) {
 		this.debugLabel = label;
 	}
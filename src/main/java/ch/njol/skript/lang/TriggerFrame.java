@@ -0,0 +1,430 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang;
+
+import ch.njol.skript.lang.parser.ParserInstance;
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.structure.Structure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The execution state of the {@link TriggerItem}s running with an {@link Event}:
+ * its local variables, whether it has been delayed,
+ * and the state of syntax elements such as loops, which is kept in slots.
+ * <p>
+ * Slots are allocated by syntax elements when they are parsed, using {@link #allocateSlot()}.
+ * A slot is only unique within the structure it was allocated in, so its state is stored together with its owner,
+ * the syntax element using it, and a slot that is already used by another owner is moved to a map.
+ * <p>
+ * The frames of the events that the current thread is {@link TriggerItem#walk(TriggerItem, Event) walking}
+ * are kept on a stack of the thread and found without a lookup.
+ * A frame is only registered in a map by its event when it must be found outside of a walk:
+ * when its execution is {@link #setDelayed(Event) delayed}, when it is used while its event is not being walked,
+ * or when a walk leaves local variables behind that may still be read by the caller.
+ * Registered frames are removed again once their execution has finished, see {@link #release(Event)}.
+ * Frames don't reference their event, and the map only references events weakly,
+ * so frames that are never released don't keep their event in memory.
+ */
+public final class TriggerFrame {
+
+	private static final Map<Event, TriggerFrame> frames = new WeakHashMap<>();
+
+	/**
+	 * The size of {@link #frames} after it was last modified, to skip looking up frames when none are registered.
+	 * This may be larger than the actual size, as entries of collected events are removed silently.
+	 */
+	private static volatile int registeredCount;
+
+	private static final ThreadLocal<FrameStack> stack = ThreadLocal.withInitial(FrameStack::new);
+
+	private static final int INITIAL_SLOTS = 8;
+
+	/**
+	 * Whether this frame is registered in {@link #frames}.
+	 */
+	private volatile boolean registered;
+
+	@Nullable
+	private volatile Object locals;
+
+	private volatile boolean delayed;
+
+	/**
+	 * The amount of delayed executions that have not finished yet.
+	 */
+	private final AtomicInteger pendingDelays = new AtomicInteger();
+
+	private Object[] owners = new Object[INITIAL_SLOTS];
+	private Object[] values = new Object[INITIAL_SLOTS];
+
+	/**
+	 * Slot values whose slot is already used by another owner.
+	 */
+	@Nullable
+	private Map<OverflowKey, Object> overflow;
+
+	private TriggerFrame() {}
+
+	/**
+	 * @param event The event to get the frame of.
+	 * @return The frame of the event, which is created if it does not exist yet.
+	 * A frame created while the event is not being walked is registered until it is {@link #release(Event) released}.
+	 */
+	public static TriggerFrame of(Event event) {
+		TriggerFrame frame = stack.get().find(event);
+		if (frame != null)
+			return frame;
+		synchronized (frames) {
+			frame = frames.get(event);
+			if (frame == null) {
+				frame = new TriggerFrame();
+				register(event, frame);
+			}
+			return frame;
+		}
+	}
+
+	/**
+	 * @param event The event to get the frame of.
+	 * @return The frame of the event, or null if it does not have one.
+	 */
+	@Nullable
+	public static TriggerFrame find(Event event) {
+		TriggerFrame frame = stack.get().find(event);
+		if (frame != null)
+			return frame;
+		return findRegistered(event);
+	}
+
+	@Nullable
+	private static TriggerFrame findRegistered(Event event) {
+		if (registeredCount == 0)
+			return null;
+		synchronized (frames) {
+			return frames.get(event);
+		}
+	}
+
+	private static void register(Event event, TriggerFrame frame) {
+		synchronized (frames) {
+			frames.put(event, frame);
+			frame.registered = true;
+			registeredCount = frames.size();
+		}
+	}
+
+	/**
+	 * Creates a frame that isn't registered for any event. It can only be found while it is {@link #enter(Event, TriggerFrame) entered},
+	 * unless its execution is delayed.
+	 * This avoids the map of frames for events that are only used for a single execution, such as function calls.
+	 * @return The new frame.
+	 */
+	public static TriggerFrame detached() {
+		return new TriggerFrame();
+	}
+
+	/**
+	 * Makes the frame of the given event the innermost frame of the current thread,
+	 * creating a frame that is only found while it is entered if the event doesn't have one.
+	 * Must be followed by {@link #exit()}.
+	 */
+	static void enter(Event event) {
+		FrameStack stack = TriggerFrame.stack.get();
+		TriggerFrame frame = stack.find(event);
+		if (frame == null)
+			frame = findRegistered(event);
+		if (frame == null) {
+			stack.push(event, new TriggerFrame(), true);
+		} else {
+			stack.push(event, frame, false);
+		}
+	}
+
+	/**
+	 * Makes the given frame the innermost frame of the current thread, as the frame of the given event.
+	 * Must be followed by {@link #exit()}.
+	 */
+	public static void enter(Event event, TriggerFrame frame) {
+		stack.get().push(event, frame, false);
+	}
+
+	/**
+	 * Removes the innermost frame of the current thread, see {@link #enter(Event, TriggerFrame)}.
+	 * Once its event isn't walked anymore, the frame is {@link #release(Event) released} if it has no local variables,
+	 * and registered if it has, as the caller of the walk may still read them until it removes them.
+	 */
+	public static void exit() {
+		FrameStack stack = TriggerFrame.stack.get();
+		Event event = stack.peekEvent();
+		boolean created = stack.peekCreated();
+		TriggerFrame frame = stack.pop();
+		if (stack.find(event) != null)
+			return;
+		if (frame.locals == null) {
+			if (frame.registered)
+				unregister(event, frame);
+		} else if (created && !frame.registered) {
+			register(event, frame);
+		}
+	}
+
+	/**
+	 * Marks the execution of the given event as delayed, so that its frame can still be found when it continues.
+	 * Each delay must be followed by {@link #finishDelay(Event)} once the delayed execution has finished.
+	 * @param event The event to mark as delayed.
+	 */
+	public static void setDelayed(Event event) {
+		TriggerFrame frame = of(event);
+		frame.delayed = true;
+		frame.pendingDelays.incrementAndGet();
+		if (!frame.registered)
+			register(event, frame);
+	}
+
+	/**
+	 * Marks a delayed execution of the given event as finished, releasing its frame if no other delayed execution is pending.
+	 * @param event The event whose delayed execution finished.
+	 */
+	public static void finishDelay(Event event) {
+		TriggerFrame frame = find(event);
+		if (frame == null)
+			return;
+		frame.pendingDelays.decrementAndGet();
+		release(event);
+	}
+
+	/**
+	 * Forgets the registered frame of the given event if its execution has finished,
+	 * i.e. it is not being walked by the current thread and none of its delayed executions are pending.
+	 * @param event The event whose frame to release.
+	 */
+	public static void release(Event event) {
+		if (stack.get().find(event) != null)
+			return;
+		TriggerFrame frame = findRegistered(event);
+		if (frame != null)
+			unregister(event, frame);
+	}
+
+	private static void unregister(Event event, TriggerFrame frame) {
+		if (frame.pendingDelays.get() > 0)
+			return;
+		synchronized (frames) {
+			if (frames.remove(event, frame))
+				frame.registered = false;
+			registeredCount = frames.size();
+		}
+	}
+
+	/**
+	 * Allocates a slot in the frames of the structure that is currently being parsed.
+	 * @return The index of the slot.
+	 */
+	public static int allocateSlot() {
+		return ParserInstance.get().getData(SlotData.class).allocate();
+	}
+
+	/**
+	 * @param slot The index of the slot, see {@link #allocateSlot()}.
+	 * @param owner The syntax element the slot was allocated by.
+	 * @return The value of the slot, or null if it is not set.
+	 */
+	@Nullable
+	public Object getSlot(int slot, Object owner) {
+		if (slot < owners.length && owners[slot] == owner)
+			return values[slot];
+		Map<OverflowKey, Object> overflow = this.overflow;
+		return overflow == null ? null : overflow.get(new OverflowKey(slot, owner));
+	}
+
+	/**
+	 * @param slot The index of the slot, see {@link #allocateSlot()}.
+	 * @param owner The syntax element the slot was allocated by.
+	 * @param value The new value of the slot, or null to clear it.
+	 */
+	public void setSlot(int slot, Object owner, @Nullable Object value) {
+		if (slot >= owners.length) {
+			if (value == null)
+				return;
+			int length = Math.max(slot + 1, owners.length * 2);
+			owners = Arrays.copyOf(owners, length);
+			values = Arrays.copyOf(values, length);
+		}
+
+		Object slotOwner = owners[slot];
+		if (slotOwner == owner || slotOwner == null || values[slot] == null) {
+			owners[slot] = value == null ? null : owner;
+			values[slot] = value;
+			if (overflow != null)
+				overflow.remove(new OverflowKey(slot, owner));
+		} else if (value != null) {
+			if (overflow == null)
+				overflow = new HashMap<>();
+			overflow.put(new OverflowKey(slot, owner), value);
+		} else if (overflow != null) {
+			overflow.remove(new OverflowKey(slot, owner));
+		}
+	}
+
+	/**
+	 * The local variables of this frame, managed by {@link ch.njol.skript.variables.Variables}.
+	 */
+	@Nullable
+	public Object getLocals() {
+		return locals;
+	}
+
+	public void setLocals(@Nullable Object locals) {
+		this.locals = locals;
+	}
+
+	/**
+	 * @return Whether the execution has been delayed, see {@link ch.njol.skript.effects.Delay#isDelayed(Event)}.
+	 */
+	public boolean isDelayed() {
+		return delayed;
+	}
+
+	/**
+	 * @return Whether this frame was never delayed and isn't registered, so it can be {@link #reset()} to be reused for its event.
+	 */
+	public boolean isReusable() {
+		return !delayed && !registered;
+	}
+
+	/**
+	 * Clears the local variables and slots of this frame, so it can be reused for another execution with its event.
+	 */
+	public void reset() {
+		assert isReusable();
+		locals = null;
+		Arrays.fill(owners, null);
+		Arrays.fill(values, null);
+		overflow = null;
+	}
+
+	/**
+	 * The frames the current thread is walking together with their events, innermost last.
+	 */
+	private static final class FrameStack {
+
+		private Event[] events = new Event[8];
+		private TriggerFrame[] frames = new TriggerFrame[8];
+		/**
+		 * Whether the frame was created when it was entered, see {@link #enter(Event)}.
+		 */
+		private boolean[] created = new boolean[8];
+		private int size;
+
+		@Nullable
+		TriggerFrame find(Event event) {
+			for (int i = size - 1; i >= 0; i--) {
+				if (events[i] == event)
+					return frames[i];
+			}
+			return null;
+		}
+
+		void push(Event event, TriggerFrame frame, boolean created) {
+			if (size == frames.length) {
+				events = Arrays.copyOf(events, size * 2);
+				frames = Arrays.copyOf(frames, size * 2);
+				this.created = Arrays.copyOf(this.created, size * 2);
+			}
+			events[size] = event;
+			frames[size] = frame;
+			this.created[size] = created;
+			size++;
+		}
+
+		Event peekEvent() {
+			return events[size - 1];
+		}
+
+		boolean peekCreated() {
+			return created[size - 1];
+		}
+
+		TriggerFrame pop() {
+			size--;
+			TriggerFrame frame = frames[size];
+			events[size] = null;
+			frames[size] = null;
+			return frame;
+		}
+
+	}
+
+	private static final class OverflowKey {
+
+		private final int slot;
+		private final Object owner;
+
+		private OverflowKey(int slot, Object owner) {
+			this.slot = slot;
+			this.owner = owner;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (!(other instanceof OverflowKey))
+				return false;
+			OverflowKey key = (OverflowKey) other;
+			return slot == key.slot && owner == key.owner;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * slot + System.identityHashCode(owner);
+		}
+
+	}
+
+	private static final class SlotData extends ParserInstance.Data {
+
+		@Nullable
+		private Structure structure;
+		private int slots;
+
+		public SlotData(ParserInstance parserInstance) {
+			super(parserInstance);
+		}
+
+		int allocate() {
+			Structure structure = getParser().getCurrentStructure();
+			if (structure != this.structure) {
+				this.structure = structure;
+				slots = 0;
+			}
+			return slots++;
+		}
+
+	}
+
+	static {
+		ParserInstance.registerData(SlotData.class, SlotData::new);
+	}
+
+}
@@ -19,6 +19,7 @@
 package ch.njol.skript.lang;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.timings.SkriptProfiler;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.util.StringUtils;
 import org.bukkit.event.Event;
@@ -42,6 +43,8 @@ public abstract class TriggerItem implements Debuggable {
 	@Nullable
 	private TriggerItem next = null;
 
+	private int line = -1; // -1 is default: it means there is no line number available
+
 	protected TriggerItem() {}
 
 	protected TriggerItem(TriggerSection parent) {
@@ -83,9 +86,19 @@ public abstract class TriggerItem implements Debuggable {
 	 */
 	public static boolean walk(TriggerItem start, Event event) {
 		TriggerItem triggerItem = start;
+		SkriptProfiler.Sample sample = SkriptProfiler.isEnabled() ? SkriptProfiler.sample(start, true) : null;
+		TriggerFrame.enter(event);
 		try {
-			while (triggerItem != null)
-				triggerItem = triggerItem.walk(event);
+			if (SkriptProfiler.isProfilingStatements()) {
+				while (triggerItem != null) {
+					SkriptProfiler.Sample itemSample = SkriptProfiler.sample(triggerItem, false);
+					triggerItem = triggerItem.walk(event);
+					itemSample.stop();
+				}
+			} else {
+				while (triggerItem != null)
+					triggerItem = triggerItem.walk(event);
+			}
 
 			return true;
 		} catch (StackOverflowError err) {
@@ -109,6 +122,10 @@ public abstract class TriggerItem implements Debuggable {
 			// not all Throwables are Exceptions, but we usually don't want to catch them (without rethrowing)
 			Skript.markErrored();
 			throw throwable;
+		} finally {
+			TriggerFrame.exit();
+			if (sample != null)
+				sample.stop();
 		}
 		return false;
 	}
@@ -164,6 +181,22 @@ public abstract class TriggerItem implements Debuggable {
 		return (Trigger) triggerItem;
 	}
 
+	/**
+	 * Sets line number for this item's start.
+	 * Only used for debugging.
+	 * @param line Line number
+	 */
+	public void setLineNumber(int line) {
+		this.line = line;
+	}
+
+	/**
+	 * @return The line number where this item starts. This should ONLY be used for debugging!
+	 */
+	public int getLineNumber() {
+		return line;
+	}
+
 	public TriggerItem setNext(@Nullable TriggerItem next) {
 		this.next = next;
 		return this;
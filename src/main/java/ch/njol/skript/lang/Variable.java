@@ -21,8 +21,10 @@ package ch.njol.skript.lang;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -64,6 +66,7 @@ import org.skriptlang.skript.lang.comparator.Relation;
 import org.skriptlang.skript.lang.converter.Converters;
 import org.skriptlang.skript.lang.script.Script;
 import org.skriptlang.skript.lang.script.ScriptWarning;
+import org.skriptlang.skript.lang.structure.Structure;
 
 public class Variable<T> implements Expression<T> {
 
@@ -91,6 +94,17 @@ public class Variable<T> implements Expression<T> {
 	@Nullable
 	private final Variable<?> source;
 
+	/**
+	 * The slot of this variable if it is a local variable with a name known at parse time that is not a list,
+	 * see {@link Variables#getLocalVariable(int, String, Event)}, or -1 otherwise.
+	 */
+	private final int slot;
+	/**
+	 * The interned name of this variable if it has a {@link #slot}, and its lower-cased version.
+	 */
+	@Nullable
+	private final String slotName, lowerCaseSlotName;
+
 	@SuppressWarnings("unchecked")
 	private Variable(VariableString name, Class<? extends T>[] types, boolean local, boolean list, @Nullable Variable<?> source) {
 		assert types.length > 0;
@@ -110,6 +124,23 @@ public class Variable<T> implements Expression<T> {
 		this.superType = (Class<T>) Utils.getSuperType(types);
 
 		this.source = source;
+
+		if (source != null) {
+			this.slot = source.slot;
+			this.slotName = source.slotName;
+			this.lowerCaseSlotName = source.lowerCaseSlotName;
+		} else if (local && !list && name.isSimple()) {
+			String simpleName = StringUtils.substring(name.toString(null, false), 1, -1);
+			String lowerCaseName = simpleName.toLowerCase(Locale.ENGLISH);
+			boolean compiled = !simpleName.contains(SEPARATOR) && !simpleName.contains("*");
+			this.slot = compiled ? getLocalSlot(simpleName) : -1;
+			this.slotName = compiled ? simpleName.intern() : null;
+			this.lowerCaseSlotName = compiled ? lowerCaseName.intern() : null;
+		} else {
+			this.slot = -1;
+			this.slotName = null;
+			this.lowerCaseSlotName = null;
+		}
 	}
 
 	/**
@@ -241,6 +272,18 @@ public class Variable<T> implements Expression<T> {
 		return new Variable<>(variableString, types, isLocal, isPlural, null);
 	}
 
+	/**
+	 * Gets the slot of a local variable in the structure that is currently being parsed,
+	 * which is the same slot parsed local variables with that name use.
+	 *
+	 * @param name The name of the local variable, without the local variable token.
+	 *                Must not be a list variable nor contain the {@link #SEPARATOR}.
+	 * @return The slot, see {@link Variables#getLocalVariable(int, String, Event)}.
+	 */
+	public static int getLocalSlot(String name) {
+		return ParserInstance.get().getData(LocalSlots.class).get(name.toLowerCase(Locale.ENGLISH));
+	}
+
 	@Override
 	public boolean init(Expression<?>[] expressions, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
 		throw new UnsupportedOperationException();
@@ -303,16 +346,31 @@ public class Variable<T> implements Expression<T> {
 	 */
 	@Nullable
 	public Object getRaw(Event event) {
+		return getRaw(event, name.toVariableName(event));
+	}
+
+	/**
+	 * Gets the value of this variable as stored in the variables map,
+	 * using an already evaluated name.
+	 *
+	 * @param event The event to evaluate default variables in.
+	 * @param name The evaluated name of this variable, as returned by {@link VariableString#toVariableName(Event)}.
+	 */
+	@Nullable
+	private Object getRaw(Event event, String name) {
 		DefaultVariables data = script == null ? null : script.getData(DefaultVariables.class);
 		if (data != null)
 			data.enterScope();
 		try {
-			String name = this.name.toString(event);
-
 			// prevents e.g. {%expr%} where "%expr%" ends with "::*" from returning a Map
 			if (name.endsWith(Variable.SEPARATOR + "*") != list)
 				return null;
-			Object value = !list ? convertIfOldPlayer(name, event, Variables.getVariable(name, event, local)) : Variables.getVariable(name, event, local);
+			Object value;
+			if (slot != -1) {
+				value = convertIfOldPlayer(name, event, Variables.getLocalVariable(slot, getSlotName(), event));
+			} else {
+				value = !list ? convertIfOldPlayer(name, event, Variables.getVariable(name, event, local)) : Variables.getVariable(name, event, local);
+			}
 			if (value != null)
 				return value;
 
@@ -335,13 +393,14 @@ public class Variable<T> implements Expression<T> {
 	@Nullable
 	@SuppressWarnings("unchecked")
 	private Object get(Event event) {
-		Object rawValue = getRaw(event);
+		String fullName = this.name.toVariableName(event);
+		Object rawValue = getRaw(event, fullName);
 		if (!list)
 			return rawValue;
 		if (rawValue == null)
 			return Array.newInstance(types[0], 0);
 		List<Object> convertedValues = new ArrayList<>();
-		String name = StringUtils.substring(this.name.toString(event), 0, -1);
+		String name = StringUtils.substring(fullName, 0, -1);
 		for (Entry<String, ?> variable : ((Map<String, ?>) rawValue).entrySet()) {
 			if (variable.getKey() != null && variable.getValue() != null) {
 				Object value;
@@ -377,7 +436,7 @@ public class Variable<T> implements Expression<T> {
 	public Iterator<Pair<String, Object>> variablesIterator(Event event) {
 		if (!list)
 			throw new SkriptAPIException("Looping a non-list variable");
-		String name = StringUtils.substring(this.name.toString(event), 0, -1);
+		String name = StringUtils.substring(this.name.toVariableName(event), 0, -1);
 		Object val = Variables.getVariable(name + "*", event, local);
 		if (val == null)
 			return new EmptyIterator<>();
@@ -431,7 +490,7 @@ public class Variable<T> implements Expression<T> {
 			T value = getSingle(event);
 			return value != null ? new SingleItemIterator<>(value) : null;
 		}
-		String name = StringUtils.substring(this.name.toString(event), 0, -1);
+		String name = StringUtils.substring(this.name.toVariableName(event), 0, -1);
 		Object value = Variables.getVariable(name + "*", event, local);
 		if (value == null)
 			return new EmptyIterator<>();
@@ -491,12 +550,32 @@ public class Variable<T> implements Expression<T> {
 	}
 
 	private void set(Event event, @Nullable Object value) {
-		Variables.setVariable("" + name.toString(event), value, event, local);
+		if (slot != -1) {
+			Variables.setLocalVariable(slot, getSlotName(), value, event);
+		} else {
+			Variables.setVariable(name.toVariableName(event), value, event, local);
+		}
 	}
 
-	private void setIndex(Event event, String index, @Nullable Object value) {
+	/**
+	 * @return The name of this variable to use with its {@link #slot}.
+	 */
+	private String getSlotName() {
+		String name = Variables.caseInsensitiveVariables ? lowerCaseSlotName : slotName;
+		assert name != null;
+		return name;
+	}
+
+	/**
+	 * Sets an index of this list variable.
+	 *
+	 * @param event The event to set the variable in.
+	 * @param name The evaluated name of this variable, as returned by {@link VariableString#toVariableName(Event)}.
+	 * @param index The index to set.
+	 * @param value The new value, or null to delete the index.
+	 */
+	private void setIndex(Event event, String name, String index, @Nullable Object value) {
 		assert list;
-		String name = this.name.toString(event);
 		assert name.endsWith(SEPARATOR + "*") : name + "; " + this.name;
 		Variables.setVariable(name.substring(0, name.length() - 1) + index, value, event, local);
 	}
@@ -514,8 +593,9 @@ public class Variable<T> implements Expression<T> {
 		switch (mode) {
 			case DELETE:
 				if (list) {
+					String name = this.name.toVariableName(event);
 					ArrayList<String> toDelete = new ArrayList<>();
-					Map<String, Object> map = (Map<String, Object>) getRaw(event);
+					Map<String, Object> map = (Map<String, Object>) getRaw(event, name);
 					if (map == null)
 						return;
 					for (Entry<String, Object> entry : map.entrySet()) {
@@ -525,7 +605,7 @@ public class Variable<T> implements Expression<T> {
 					}
 					for (String index : toDelete) {
 						assert index != null;
-						setIndex(event, index, null);
+						setIndex(event, name, index, null);
 					}
 				}
 
@@ -534,15 +614,16 @@ public class Variable<T> implements Expression<T> {
 			case SET:
 				assert delta != null;
 				if (list) {
-					set(event, null);
+					String name = this.name.toVariableName(event);
+					Variables.setVariable(name, null, event, local);
 					int i = 1;
 					for (Object value : delta) {
 						if (value instanceof Object[]) {
 							for (int j = 0; j < ((Object[]) value).length; j++) {
-								setIndex(event, "" + i + SEPARATOR + (j + 1), ((Object[]) value)[j]);
+								setIndex(event, name, "" + i + SEPARATOR + (j + 1), ((Object[]) value)[j]);
 							}
 						} else {
-							setIndex(event, "" + i, value);
+							setIndex(event, name, "" + i, value);
 						}
 						i++;
 					}
@@ -574,7 +655,8 @@ public class Variable<T> implements Expression<T> {
 			case REMOVE_ALL:
 				assert delta != null;
 				if (list) {
-					Map<String, Object> map = (Map<String, Object>) getRaw(event);
+					String name = this.name.toVariableName(event);
+					Map<String, Object> map = (Map<String, Object>) getRaw(event, name);
 					if (mode == ChangeMode.REMOVE) {
 						if (map == null)
 							return;
@@ -594,7 +676,7 @@ public class Variable<T> implements Expression<T> {
 						}
 						for (String index : toRemove) {
 							assert index != null;
-							setIndex(event, index, null);
+							setIndex(event, name, index, null);
 						}
 					} else if (mode == ChangeMode.REMOVE_ALL) {
 						if (map == null)
@@ -608,7 +690,7 @@ public class Variable<T> implements Expression<T> {
 						}
 						for (String index : toRemove) {
 							assert index != null;
-							setIndex(event, index, null);
+							setIndex(event, name, index, null);
 						}
 					} else {
 						assert mode == ChangeMode.ADD;
@@ -617,7 +699,7 @@ public class Variable<T> implements Expression<T> {
 							if (map != null)
 								while (map.containsKey("" + i))
 									i++;
-							setIndex(event, "" + i, value);
+							setIndex(event, name, "" + i, value);
 							i++;
 						}
 					}
@@ -747,4 +829,33 @@ public class Variable<T> implements Expression<T> {
 		return this;
 	}
 
+	/**
+	 * Assigns slots to the local variables of the structure that is currently being parsed,
+	 * the same name always gets the same slot within a structure.
+	 */
+	private static final class LocalSlots extends ParserInstance.Data {
+
+		@Nullable
+		private Structure structure;
+		private final Map<String, Integer> slots = new HashMap<>();
+
+		public LocalSlots(ParserInstance parserInstance) {
+			super(parserInstance);
+		}
+
+		int get(String name) {
+			Structure structure = getParser().getCurrentStructure();
+			if (structure != this.structure) {
+				this.structure = structure;
+				slots.clear();
+			}
+			return slots.computeIfAbsent(name, key -> slots.size());
+		}
+
+	}
+
+	static {
+		ParserInstance.registerData(LocalSlots.class, LocalSlots::new);
+	}
+
 }
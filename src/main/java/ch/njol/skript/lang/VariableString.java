@@ -35,6 +35,7 @@ import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.chat.ChatMessages;
 import ch.njol.skript.util.chat.MessageComponent;
+import ch.njol.skript.variables.Variables;
 import ch.njol.util.Checker;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
@@ -51,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -73,6 +75,31 @@ public class VariableString implements Expression<String> {
 	private final String simple, simpleUnformatted;
 	private final StringMode mode;
 
+	/**
+	 * The lower-cased {@link #simple} string, or the lower-cased {@link #strings},
+	 * used by {@link #toVariableName(Event)} when variable names are case-insensitive.
+	 */
+	@Nullable
+	private final String simpleLowerCase;
+	private final Object @Nullable [] stringsLowerCase;
+
+	/**
+	 * The total length of all literal parts of {@link #strings},
+	 * used to size the builder when evaluating this string.
+	 */
+	private final int literalLength;
+
+	/**
+	 * A reusable builder per thread for evaluating non-simple strings.
+	 * The builder is removed while in use, so nested evaluations create their own.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<>();
+
+	/**
+	 * Builders with a larger capacity than this are not kept for reuse.
+	 */
+	private static final int MAX_REUSED_BUILDER_CAPACITY = 1024;
+
 	/**
 	 * Message components that this string consists of. Only simple parts have
 	 * been evaluated here.
@@ -91,6 +118,9 @@ public class VariableString implements Expression<String> {
 
 		this.original = simple;
 		this.strings = null;
+		this.stringsLowerCase = null;
+		this.simpleLowerCase = simple.toLowerCase(Locale.ENGLISH);
+		this.literalLength = simple.length();
 		this.mode = StringMode.MESSAGE;
 
 		ParserInstance parser = getParser();
@@ -116,10 +146,12 @@ public class VariableString implements Expression<String> {
 
 		// Construct unformatted string and components
 		List<MessageComponent> components = new ArrayList<>(strings.length);
+		int literalLength = 0;
 		for (int i = 0; i < strings.length; i++) {
 			Object object = strings[i];
 			if (object instanceof String) {
 				this.strings[i] = Utils.replaceChatStyles((String) object);
+				literalLength += ((String) this.strings[i]).length();
 				components.addAll(ChatMessages.parse((String) object));
 			} else {
 				this.strings[i] = object;
@@ -130,12 +162,24 @@ public class VariableString implements Expression<String> {
 			this.stringsUnformatted[i] = object;
 		}
 		this.components = components.toArray(new MessageComponent[0]);
+		this.literalLength = literalLength;
 
 		this.mode = mode;
 
+		if (mode == StringMode.VARIABLE_NAME) {
+			this.stringsLowerCase = new Object[strings.length];
+			for (int i = 0; i < strings.length; i++) {
+				Object object = this.strings[i];
+				this.stringsLowerCase[i] = object instanceof String ? ((String) object).toLowerCase(Locale.ENGLISH) : object;
+			}
+		} else {
+			this.stringsLowerCase = null;
+		}
+
 		this.isSimple = false;
 		this.simple = null;
 		this.simpleUnformatted = null;
+		this.simpleLowerCase = null;
 	}
 
 	/**
@@ -525,24 +569,73 @@ public class VariableString implements Expression<String> {
 
 		Object[] string = this.strings;
 		assert string != null;
-		StringBuilder builder = new StringBuilder();
-		List<Class<?>> types = new ArrayList<>();
-		for (Object object : string) {
-			if (object instanceof Expression<?>) {
-				Object[] objects = ((Expression<?>) object).getArray(event);
-				if (objects != null && objects.length > 0)
-					types.add(objects[0].getClass());
-				builder.append(Classes.toString(objects, true, mode));
-			} else {
-				builder.append(object);
-			}
+		return evaluate(event, string, false);
+	}
+
+	/**
+	 * Parses all expressions in the string and returns it as a variable name,
+	 * lower-cased if {@link Variables#caseInsensitiveVariables variable names are case-insensitive}.
+	 * If this is a simple string, the event may be null.
+	 *
+	 * @param event Event to pass to the expressions.
+	 * @return The variable name with all expressions replaced.
+	 */
+	public String toVariableName(@Nullable Event event) {
+		boolean lowerCase = Variables.caseInsensitiveVariables;
+		if (isSimple) {
+			assert simple != null && simpleLowerCase != null;
+			return lowerCase ? simpleLowerCase : simple;
+		}
+		if (event == null)
+			throw new IllegalArgumentException("Event may not be null in non-simple VariableStrings!");
+
+		Object[] string = lowerCase && stringsLowerCase != null ? stringsLowerCase : this.strings;
+		assert string != null;
+		return evaluate(event, string, lowerCase);
+	}
+
+	/**
+	 * Concatenates the given parts, evaluating the expressions among them.
+	 *
+	 * @param event Event to pass to the expressions.
+	 * @param string The parts of this string to concatenate.
+	 * @param lowerCase Whether to lower-case the values of the expressions.
+	 * @return The complete string.
+	 */
+	private String evaluate(Event event, Object[] string, boolean lowerCase) {
+		DefaultVariables data = script != null && mode == StringMode.VARIABLE_NAME ? script.getData(DefaultVariables.class) : null;
+		List<Class<?>> types = data != null ? new ArrayList<>() : null;
+
+		StringBuilder builder = BUILDER.get();
+		if (builder == null) {
+			builder = new StringBuilder(literalLength + 16 * string.length);
+		} else {
+			BUILDER.set(null);
 		}
-		String complete = builder.toString();
-		if (script != null && mode == StringMode.VARIABLE_NAME && !types.isEmpty()) {
-			DefaultVariables data = script.getData(DefaultVariables.class);
-			if (data != null)
-				data.add(complete, types.toArray(new Class<?>[0]));
+
+		String complete;
+		try {
+			for (Object object : string) {
+				if (object instanceof Expression<?>) {
+					Object[] objects = ((Expression<?>) object).getArray(event);
+					if (types != null && objects != null && objects.length > 0)
+						types.add(objects[0].getClass());
+					String text = Classes.toString(objects, true, mode);
+					builder.append(lowerCase ? text.toLowerCase(Locale.ENGLISH) : text);
+				} else {
+					builder.append(object);
+				}
+			}
+			complete = builder.toString();
+		} finally {
+			if (builder.capacity() <= MAX_REUSED_BUILDER_CAPACITY) {
+				builder.setLength(0);
+				BUILDER.set(builder);
+			}
 		}
+
+		if (data != null && !types.isEmpty())
+			data.add(complete, types.toArray(new Class<?>[0]));
 		return complete;
 	}
 
@@ -86,13 +86,26 @@ public abstract class Function<T> {
 	@SuppressWarnings("null")
 	@Nullable
 	public final T[] execute(Object[][] params) {
-		FunctionEvent<? extends T> e = new FunctionEvent<>(this);
-		
 		// Call function event only if requested by addon
 		// Functions may be called VERY often, so this might have performance impact
-		if (Functions.callFunctionEvents)
+		boolean callEvent = Functions.callFunctionEvents;
+		FunctionEvent<? extends T> e;
+		if (callEvent) {
+			e = new FunctionEvent<>(this);
 			Bukkit.getPluginManager().callEvent(e);
-		
+		} else {
+			e = obtainEvent();
+		}
+		try {
+			return executeWithEvent(e, params);
+		} finally {
+			if (!callEvent)
+				releaseEvent(e);
+		}
+	}
+
+	@Nullable
+	private T[] executeWithEvent(FunctionEvent<? extends T> e, Object[][] params) {
 		// Parameters taken by the function.
 		Parameter<?>[] parameters = sign.getParameters();
 		
@@ -151,6 +164,24 @@ public abstract class Function<T> {
 	@Nullable
 	public abstract T[] execute(FunctionEvent<?> e, Object[][] params);
 
+	/**
+	 * Gets an event to execute this function with using {@link #execute(Object[][])},
+	 * if no {@link FunctionEvent} has to be called.
+	 * Functions may reuse events once they are {@link #releaseEvent(FunctionEvent) released}.
+	 *
+	 * @return The event to execute this function with.
+	 */
+	protected FunctionEvent<? extends T> obtainEvent() {
+		return new FunctionEvent<>(this);
+	}
+
+	/**
+	 * Called when an execution with an event from {@link #obtainEvent()} is done.
+	 *
+	 * @param event The event that isn't used by the caller anymore.
+	 */
+	protected void releaseEvent(FunctionEvent<? extends T> event) {}
+
 	/**
 	 * Resets the return value of the {@code Function}.
 	 * Should be called right after execution.
@@ -18,8 +18,10 @@
  */
 package ch.njol.skript.lang.function;
 
+import ch.njol.skript.lang.TriggerFrame;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
+import org.eclipse.jdt.annotation.Nullable;
 
 public final class FunctionEvent<T> extends Event {
 	
@@ -27,9 +29,21 @@ public final class FunctionEvent<T> extends Event {
 	private final static HandlerList handlers = new HandlerList();
 	
 	private final Function<? extends T> function;
+
+	/**
+	 * The frame of this event if it is reused by a {@link ScriptFunction}.
+	 */
+	@Nullable
+	final TriggerFrame frame;
 	
 	public FunctionEvent(Function<? extends T> function) {
 		this.function = function;
+		this.frame = null;
+	}
+
+	FunctionEvent(Function<? extends T> function, boolean reusable) {
+		this.function = function;
+		this.frame = reusable ? TriggerFrame.detached() : null;
 	}
 	
 	public Function<? extends T> getFunction() {
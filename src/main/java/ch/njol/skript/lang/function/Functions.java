@@ -382,9 +382,11 @@ public abstract class Functions {
 		// Queue references to signatures we have for revalidation
 		// Can't validate here, because other scripts might be loaded soon
 		for (Signature<?> sign : namespace.getSignatures()) {
-			for (FunctionReference<?> ref : sign.calls) {
-				if (!script.equals(ref.script)) {
-					toValidate.add(ref);
+			synchronized (sign.calls) {
+				for (FunctionReference<?> ref : sign.calls) {
+					if (!script.equals(ref.script)) {
+						toValidate.add(ref);
+					}
 				}
 			}
 		}
@@ -407,9 +409,11 @@ public abstract class Functions {
 			}
 		}
 
-		for (FunctionReference<?> ref : signature.calls) {
-			if (!signature.script.equals(ref.script))
-				toValidate.add(ref);
+		synchronized (signature.calls) {
+			for (FunctionReference<?> ref : signature.calls) {
+				if (!signature.script.equals(ref.script))
+					toValidate.add(ref);
+			}
 		}
 	}
 
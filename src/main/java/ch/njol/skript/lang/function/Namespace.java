@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -148,13 +149,14 @@ public class Namespace {
 	private final Map<Info, Signature<?>> signatures;
 
 	/**
-	 * Known functions. Populated as function bodies are loaded.
+	 * Known functions. Populated as function bodies are loaded,
+	 * which may happen on multiple threads when scripts are loaded in parallel.
 	 */
 	private final Map<Info, Function<?>> functions;
 
 	public Namespace() {
 		this.signatures = new HashMap<>();
-		this.functions = new HashMap<>();
+		this.functions = new ConcurrentHashMap<>();
 	}
 	
 	@Nullable
@@ -21,6 +21,8 @@ package ch.njol.skript.lang.function;
 import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ReturnHandler;
+import ch.njol.skript.lang.TriggerFrame;
+import ch.njol.skript.lang.Variable;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.ApiStatus;
 import org.skriptlang.skript.lang.script.Script;
@@ -31,10 +33,33 @@ import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.variables.Variables;
 
+import java.util.ArrayDeque;
+import java.util.Locale;
+
 public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 
+	/**
+	 * The maximum amount of events kept for reuse, see {@link #obtainEvent()}.
+	 */
+	private static final int MAX_POOLED_EVENTS = 8;
+
 	private final Trigger trigger;
 
+	/**
+	 * The slots of the single parameters, see {@link Variables#getLocalVariable(int, String, Event)},
+	 * or -1 for list parameters.
+	 */
+	private final int[] parameterSlots;
+	/**
+	 * The interned names of the parameters, and their lower-cased versions.
+	 */
+	private final String[] parameterNames, lowerCaseParameterNames;
+
+	/**
+	 * Events that finished executing this function, which can be reused with their frames.
+	 */
+	private final ArrayDeque<FunctionEvent<T>> eventPool = new ArrayDeque<>();
+
 	private boolean returnValueSet;
 	private T @Nullable [] returnValues;
 
@@ -49,6 +74,18 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 	public ScriptFunction(Signature<T> sign, SectionNode node) {
 		super(sign);
 
+		// Assign the parameters the same slots as the local variables in the function's body
+		Parameter<?>[] parameters = sign.getParameters();
+		parameterSlots = new int[parameters.length];
+		parameterNames = new String[parameters.length];
+		lowerCaseParameterNames = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter<?> parameter = parameters[i];
+			parameterSlots[i] = parameter.single ? Variable.getLocalSlot(parameter.name) : -1;
+			parameterNames[i] = parameter.name.intern();
+			lowerCaseParameterNames[i] = parameter.name.toLowerCase(Locale.ENGLISH).intern();
+		}
+
 		Functions.currentFunction = this;
 		try {
 			trigger = loadReturnableTrigger(node, "function " + sign.getName(), new SimpleEvent());
@@ -62,24 +99,59 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 	// REM: use patterns, e.g. {_a%b%} is like "a.*", and thus subsequent {_axyz} may be set and of that type.
 	@Override
 	public T @Nullable [] execute(final FunctionEvent<?> e, final Object[][] params) {
-		Parameter<?>[] parameters = getSignature().getParameters();
-		for (int i = 0; i < parameters.length; i++) {
-			Parameter<?> p = parameters[i];
-			Object[] val = params[i];
-			if (p.single && val.length > 0) {
-				Variables.setVariable(p.name, val[0], e, true);
-			} else {
-				for (int j = 0; j < val.length; j++) {
-					Variables.setVariable(p.name + "::" + (j + 1), val[j], e, true);
+		// Reused events already have a frame, other events get one that is only found while it is entered
+		TriggerFrame frame = e.frame;
+		TriggerFrame.enter(e, frame != null ? frame : TriggerFrame.detached());
+		try {
+			String[] names = Variables.caseInsensitiveVariables ? lowerCaseParameterNames : parameterNames;
+			for (int i = 0; i < parameterSlots.length; i++) {
+				Object[] val = params[i];
+				if (parameterSlots[i] != -1) {
+					if (val.length > 0)
+						Variables.setLocalVariable(parameterSlots[i], names[i], val[0], e);
+				} else {
+					String prefix = names[i] + Variable.SEPARATOR;
+					for (int j = 0; j < val.length; j++) {
+						Variables.setVariable(prefix + (j + 1), val[j], e, true);
+					}
 				}
 			}
+
+			trigger.execute(e);
+		} finally {
+			TriggerFrame.exit();
 		}
-		
-		trigger.execute(e);
 		ClassInfo<T> returnType = getReturnType();
 		return returnType != null ? returnValues : null;
 	}
 
+	/**
+	 * Reuses an event whose previous execution finished, so calls don't need a new event and frame.
+	 */
+	@Override
+	protected FunctionEvent<T> obtainEvent() {
+		synchronized (eventPool) {
+			FunctionEvent<T> event = eventPool.pollLast();
+			if (event != null)
+				return event;
+		}
+		return new FunctionEvent<>(this, true);
+	}
+
+	@Override
+	protected void releaseEvent(FunctionEvent<? extends T> event) {
+		TriggerFrame frame = event.frame;
+		// a delayed execution still uses its event
+		if (frame == null || !frame.isReusable())
+			return;
+		frame.reset();
+		synchronized (eventPool) {
+			if (eventPool.size() < MAX_POOLED_EVENTS)
+				//noinspection unchecked
+				eventPool.addLast((FunctionEvent<T>) event);
+		}
+	}
+
 	/**
 	 * @deprecated Use {@link ScriptFunction#returnValues(Event, Expression)}
 	 */
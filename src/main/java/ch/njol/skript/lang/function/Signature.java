@@ -67,6 +67,7 @@ public class Signature<T> {
 	
 	/**
 	 * References (function calls) to function with this signature.
+	 * Synchronized, since references may be parsed on multiple threads.
 	 */
 	final Collection<FunctionReference<?>> calls;
 
@@ -98,7 +99,7 @@ public class Signature<T> {
 		this.originClassPath = originClassPath;
 		this.contract = contract;
 
-		calls = Collections.newSetFromMap(new WeakHashMap<>());
+		calls = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 	}
 
 	public Signature(String script,
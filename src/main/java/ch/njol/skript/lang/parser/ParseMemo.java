@@ -0,0 +1,197 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.parser;
+
+import ch.njol.skript.config.Node;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser.ExprInfo;
+import ch.njol.skript.log.LogEntry;
+import ch.njol.skript.log.SkriptLogger;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers which sub-expressions of the statement that is currently being parsed could not be parsed,
+ * so that {@link ch.njol.skript.patterns.TypePatternElement} does not parse the same part of a line
+ * for the same expression types again when another pattern or split of the line is tried.
+ * <p>
+ * Only failures are remembered, as a parsed expression may be modified by the element it is used in.
+ * Replaying a failure logs the error the original parse logged, so the outcome is the same as parsing again.
+ * <p>
+ * The memo is cleared whenever the {@link ParserInstance#getNode() node} being parsed changes,
+ * and is not used at all when no node is being parsed, e.g. for effect commands.
+ */
+@ApiStatus.Internal
+public final class ParseMemo extends ParserInstance.Data {
+
+	private static final LongAdder lookups = new LongAdder();
+	private static final LongAdder hits = new LongAdder();
+
+	/**
+	 * The amount of sub-expressions remembered for a single statement, to bound the memory used by very long lines.
+	 */
+	private static final int MAX_ENTRIES = 4096;
+
+	private final Map<Key, Failure> failures = new HashMap<>();
+
+	@Nullable
+	private Node node;
+
+	public ParseMemo(ParserInstance parserInstance) {
+		super(parserInstance);
+	}
+
+	/**
+	 * @return The memo of the current thread's {@link ParserInstance}.
+	 */
+	public static ParseMemo get() {
+		return ParserInstance.get().getData(ParseMemo.class);
+	}
+
+	/**
+	 * Replays the failure of an earlier parse of the given sub-expression of the current statement, if there was one.
+	 * @return Whether the sub-expression is known to fail to parse, in which case its error has been logged again.
+	 */
+	public boolean replayFailure(String expr, int flags, ParseContext context, ExprInfo exprInfo) {
+		if (!isActive())
+			return false;
+		lookups.increment();
+		Failure failure = failures.get(new Key(expr, flags, context, exprInfo));
+		if (failure == null)
+			return false;
+		hits.increment();
+		failure.replay();
+		return true;
+	}
+
+	/**
+	 * Remembers that the given sub-expression of the current statement failed to parse.
+	 * @param error The error that was logged by the failed parse, if any.
+	 */
+	public void addFailure(String expr, int flags, ParseContext context, ExprInfo exprInfo, @Nullable LogEntry error) {
+		if (!isActive() || failures.size() >= MAX_ENTRIES)
+			return;
+		failures.put(new Key(expr, flags, context, exprInfo), new Failure(error));
+	}
+
+	/**
+	 * @return Whether a statement is being parsed, clearing the memo if it is not the statement of the last call.
+	 */
+	private boolean isActive() {
+		Node node = getParser().getNode();
+		if (node != this.node) {
+			this.node = node;
+			failures.clear();
+		}
+		return node != null;
+	}
+
+	/**
+	 * @return The amount of times a sub-expression was looked up since Skript was started.
+	 */
+	public static long getLookupCount() {
+		return lookups.sum();
+	}
+
+	/**
+	 * @return The amount of times a sub-expression was found to have failed before since Skript was started.
+	 */
+	public static long getHitCount() {
+		return hits.sum();
+	}
+
+	private static final class Key {
+
+		private final String expr;
+		private final int flags;
+		private final ParseContext context;
+		private final Object[] classes;
+		private final boolean[] isPlural;
+		private final boolean isOptional;
+		private final int time;
+		private final int hashCode;
+
+		private Key(String expr, int flags, ParseContext context, ExprInfo exprInfo) {
+			this.expr = expr;
+			this.flags = flags;
+			this.context = context;
+			this.classes = exprInfo.classes;
+			this.isPlural = exprInfo.isPlural;
+			this.isOptional = exprInfo.isOptional;
+			this.time = exprInfo.time;
+
+			int hashCode = expr.hashCode();
+			hashCode = 31 * hashCode + flags;
+			hashCode = 31 * hashCode + context.hashCode();
+			hashCode = 31 * hashCode + Arrays.hashCode(classes);
+			hashCode = 31 * hashCode + Arrays.hashCode(isPlural);
+			hashCode = 31 * hashCode + Boolean.hashCode(isOptional);
+			this.hashCode = 31 * hashCode + time;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other)
+				return true;
+			if (!(other instanceof Key))
+				return false;
+			Key key = (Key) other;
+			return hashCode == key.hashCode
+				&& flags == key.flags
+				&& context == key.context
+				&& isOptional == key.isOptional
+				&& time == key.time
+				&& expr.equals(key.expr)
+				&& Arrays.equals(classes, key.classes)
+				&& Arrays.equals(isPlural, key.isPlural);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+	private static final class Failure {
+
+		@Nullable
+		private final LogEntry error;
+
+		private Failure(@Nullable LogEntry error) {
+			this.error = error;
+		}
+
+		void replay() {
+			if (error != null)
+				SkriptLogger.log(new LogEntry(error.level, error.quality, error.message, error.node));
+		}
+
+	}
+
+	static {
+		ParserInstance.registerData(ParseMemo.class, ParseMemo::new);
+	}
+
+}
@@ -0,0 +1,353 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.parser;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.lang.SyntaxElementInfo;
+import ch.njol.skript.util.ExceptionUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A persistent cache of which syntax element and pattern each expression of a script was parsed as.
+ * <p>
+ * When a script whose content did not change since it was last loaded is loaded again,
+ * {@link ch.njol.skript.lang.SkriptParser} first tries the cached element and pattern for an expression,
+ * and only searches all syntax elements if that fails.
+ * Hints are keyed by the line of the expression, and a hint is only tried if the syntax elements
+ * that would be tried before it are the same as when it was recorded, which all failed to parse the expression then.
+ * Only hints recorded by earlier loads are used, hints recorded while a script is loading are used by its next load.
+ * The cache is discarded whenever the version of Skript or of any addon changes.
+ * <p>
+ * This is only used if {@link SkriptConfig#enableScriptCaching} is enabled.
+ */
+@ApiStatus.Internal
+public final class ScriptParseCache {
+
+	private static final String FILE_NAME = ".parse-cache";
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The maximum amount of different elements cached for the same expression of a script,
+	 * e.g. if it is parsed as both a condition and an expression.
+	 */
+	private static final int MAX_HINTS_PER_EXPRESSION = 4;
+
+	/**
+	 * The maximum length of a cached expression, longer ones may not fit into {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private static final int MAX_KEY_LENGTH = 16_000;
+
+	private static final Map<File, ScriptHints> scripts = new ConcurrentHashMap<>();
+
+	private static boolean loaded;
+
+	private ScriptParseCache() {}
+
+	/**
+	 * @return Whether script caching is enabled.
+	 */
+	public static boolean isEnabled() {
+		return SkriptConfig.enableScriptCaching.value();
+	}
+
+	/**
+	 * @return A new digest for hashing the contents of a script file.
+	 */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // every Java platform supports SHA-256
+		}
+	}
+
+	/**
+	 * Prepares the cache for the given script file before it is loaded.
+	 * Cached hints of the file are kept only if its contents did not change since they were recorded.
+	 * @param file The script file.
+	 * @param hash The {@link #newDigest() hash} of the current contents of the file.
+	 */
+	public static void prepare(File file, byte[] hash) {
+		ensureLoaded();
+		scripts.compute(file, (key, hints) -> new ScriptHints(hash, hints != null && Arrays.equals(hints.hash, hash) ? hints.merged() : new HashMap<>()));
+	}
+
+	/**
+	 * @return The hints of the script that the current thread's {@link ParserInstance} is parsing,
+	 * or null if there is none or caching is disabled.
+	 */
+	@Nullable
+	public static ScriptHints getActiveHints() {
+		if (!isEnabled())
+			return null;
+		ParserInstance parser = ParserInstance.get();
+		if (!parser.isActive())
+			return null;
+		Script script = parser.getCurrentScript();
+		File file = script.getConfig().getFile();
+		return file == null ? null : scripts.get(file);
+	}
+
+	private static File getCacheFile() {
+		return new File(Skript.getInstance().getDataFolder(), FILE_NAME);
+	}
+
+	/**
+	 * @return A description of the Skript and addon versions, the cache is only valid for the same description.
+	 */
+	public static String getEnvironment() {
+		return "Skript " + Skript.getVersion() + Skript.getAddons().stream()
+			.map(addon -> addon.getName() + " " + addon.plugin.getDescription().getVersion())
+			.sorted()
+			.collect(Collectors.joining(", ", " (", ")"));
+	}
+
+	private static synchronized void ensureLoaded() {
+		if (loaded)
+			return;
+		loaded = true;
+
+		File file = getCacheFile();
+		if (!file.exists())
+			return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(getEnvironment()))
+				return; // outdated, will be overwritten on the next save
+			int scriptCount = in.readInt();
+			for (int i = 0; i < scriptCount; i++) {
+				File scriptFile = new File(in.readUTF());
+				byte[] hash = new byte[in.readUnsignedByte()];
+				in.readFully(hash);
+				int hintCount = in.readInt();
+				Map<String, Hint[]> previous = new HashMap<>(hintCount);
+				for (int j = 0; j < hintCount; j++) {
+					String key = in.readUTF();
+					Hint[] keyHints = new Hint[in.readUnsignedByte()];
+					for (int k = 0; k < keyHints.length; k++)
+						keyHints[k] = new Hint(in.readUTF(), in.readInt(), in.readInt());
+					previous.put(key, keyHints);
+				}
+				scripts.put(scriptFile, new ScriptHints(hash, previous));
+			}
+		} catch (IOException e) {
+			scripts.clear();
+			Skript.warning("Could not read the script cache, all scripts will be parsed from scratch: " + ExceptionUtils.toString(e));
+		}
+	}
+
+	/**
+	 * Saves the cache if anything was recorded since it was loaded or last saved.
+	 * Hints of script files that do not exist anymore are dropped.
+	 */
+	public static synchronized void save() {
+		if (!loaded)
+			return;
+		scripts.keySet().removeIf(file -> !file.exists());
+		if (scripts.values().stream().noneMatch(hints -> hints.changed))
+			return;
+
+		File file = getCacheFile();
+		File tempFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(getEnvironment());
+				Map<File, ScriptHints> scripts = new HashMap<>(ScriptParseCache.scripts);
+				out.writeInt(scripts.size());
+				for (Map.Entry<File, ScriptHints> script : scripts.entrySet()) {
+					ScriptHints hints = script.getValue();
+					hints.changed = false;
+					out.writeUTF(script.getKey().getPath());
+					out.writeByte(hints.hash.length);
+					out.write(hints.hash);
+					Map<String, Hint[]> keyHints = hints.merged();
+					out.writeInt(keyHints.size());
+					for (Map.Entry<String, Hint[]> entry : keyHints.entrySet()) {
+						out.writeUTF(entry.getKey());
+						out.writeByte(entry.getValue().length);
+						for (Hint hint : entry.getValue()) {
+							out.writeUTF(hint.elementClass);
+							out.writeInt(hint.patternIndex);
+							out.writeInt(hint.priorElements);
+						}
+					}
+				}
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Skript.warning("Could not save the script cache: " + ExceptionUtils.toString(e));
+		}
+	}
+
+	/**
+	 * Adds a syntax element to a hash of the syntax elements that are tried before the one of a hint.
+	 * @param priorElements The hash of the elements tried before the given one, 0 for the first element.
+	 * @param info The syntax element that is tried next.
+	 * @return The hash of the elements tried before the element after the given one.
+	 */
+	public static int hashPriorElements(int priorElements, SyntaxElementInfo<?> info) {
+		return 31 * priorElements + info.getElementClass().getName().hashCode();
+	}
+
+	/**
+	 * Which syntax element and pattern a parsed expression matched.
+	 */
+	public static final class Hint {
+
+		private final String elementClass;
+		private final int patternIndex;
+
+		/**
+		 * The {@link #hashPriorElements(int, SyntaxElementInfo) hash} of the syntax elements
+		 * that failed to parse the expression before this one was tried.
+		 */
+		private final int priorElements;
+
+		private Hint(String elementClass, int patternIndex, int priorElements) {
+			this.elementClass = elementClass;
+			this.patternIndex = patternIndex;
+			this.priorElements = priorElements;
+		}
+
+		/**
+		 * @param info A syntax element that may be parsed.
+		 * @param priorElements The hash of the syntax elements that would be tried before it.
+		 * @return Whether this hint refers to the given syntax element, when it is tried after the same elements.
+		 */
+		public boolean isFor(SyntaxElementInfo<?> info, int priorElements) {
+			return this.priorElements == priorElements && patternIndex < info.patterns.length
+				&& info.getElementClass().getName().equals(elementClass);
+		}
+
+		/**
+		 * @return The index of the pattern that was matched.
+		 */
+		public int getPatternIndex() {
+			return patternIndex;
+		}
+
+	}
+
+	/**
+	 * The cached hints of a single script file.
+	 */
+	public static final class ScriptHints {
+
+		private final byte[] hash;
+
+		/**
+		 * The hints recorded by earlier loads of the file, which are not modified.
+		 */
+		private final Map<String, Hint[]> previous;
+
+		/**
+		 * The hints recorded by the current load of the file that were not recorded before,
+		 * which are only used by the next load.
+		 */
+		private final Map<String, Hint[]> recorded = new ConcurrentHashMap<>();
+		private volatile boolean changed;
+
+		private ScriptHints(byte[] hash, Map<String, Hint[]> previous) {
+			this.hash = hash;
+			this.previous = previous;
+		}
+
+		/**
+		 * @param key The expression, its line and how it was parsed.
+		 * @return The hints recorded for the key by earlier loads, or null if there are none.
+		 */
+		@Nullable
+		public Hint[] get(String key) {
+			return previous.get(key);
+		}
+
+		/**
+		 * Records which syntax element and pattern an expression was successfully parsed as.
+		 * @param key The expression, its line and how it was parsed.
+		 * @param info The syntax element the expression was parsed as.
+		 * @param patternIndex The index of the pattern the expression matched.
+		 * @param priorElements The {@link #hashPriorElements(int, SyntaxElementInfo) hash} of the syntax elements
+		 *                      that failed to parse the expression before.
+		 */
+		public void record(String key, SyntaxElementInfo<?> info, int patternIndex, int priorElements) {
+			if (key.length() > MAX_KEY_LENGTH || contains(previous.get(key), info, patternIndex, priorElements)
+					|| contains(recorded.get(key), info, patternIndex, priorElements))
+				return;
+
+			Hint hint = new Hint(info.getElementClass().getName(), patternIndex, priorElements);
+			recorded.compute(key, (k, hints) -> {
+				if (hints == null)
+					return new Hint[] {hint};
+				// the oldest hints are kept, newer ones replace each other in the last slot
+				Hint[] updated = Arrays.copyOf(hints, Math.min(hints.length + 1, MAX_HINTS_PER_EXPRESSION));
+				updated[updated.length - 1] = hint;
+				return updated;
+			});
+			changed = true;
+		}
+
+		private static boolean contains(Hint @Nullable [] hints, SyntaxElementInfo<?> info, int patternIndex, int priorElements) {
+			if (hints == null)
+				return false;
+			for (Hint hint : hints) {
+				if (hint.isFor(info, priorElements) && hint.patternIndex == patternIndex)
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * @return The hints of earlier loads together with the ones recorded by the current load.
+		 */
+		private Map<String, Hint[]> merged() {
+			Map<String, Hint[]> merged = new HashMap<>(previous);
+			for (Map.Entry<String, Hint[]> entry : recorded.entrySet()) {
+				merged.merge(entry.getKey(), entry.getValue(), (old, added) -> {
+					int length = Math.min(old.length + added.length, MAX_HINTS_PER_EXPRESSION);
+					Hint[] hints = Arrays.copyOf(old, length);
+					for (int i = old.length; i < length; i++)
+						hints[i] = added[i - old.length];
+					return hints;
+				});
+			}
+			return merged;
+		}
+
+	}
+
+}
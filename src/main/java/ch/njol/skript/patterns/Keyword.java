@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -44,6 +45,14 @@ abstract class Keyword {
 	 */
 	abstract boolean isPresent(String expr);
 
+	/**
+	 * Adds all words that are present as whole words in any expression this keyword {@link #isPresent(String) is present} in,
+	 * where words are separated by single spaces.
+	 * @param words The collection to add the words to.
+	 */
+	void collectWords(Collection<String> words) {
+	}
+
 	/**
 	 * Builds a list of keywords starting from the provided pattern element.
 	 * @param first The pattern to build keywords from.
@@ -117,6 +126,18 @@ abstract class Keyword {
 			return expr.contains(keyword);
 		}
 
+		@Override
+		void collectWords(Collection<String> words) {
+			String[] split = keyword.split(" ");
+			// the first and last word may only be part of a word in the expression, unless they are at the start or end of it
+			int start = starting ? 0 : 1;
+			int end = ending ? split.length : split.length - 1;
+			for (int i = start; i < end; i++) {
+				if (!split[i].isEmpty())
+					words.add(split[i].toLowerCase(Locale.ENGLISH));
+			}
+		}
+
 		@Override
 		public int hashCode() {
 			return Objects.hash(keyword, starting, ending);
@@ -0,0 +1,163 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An inverted index from words to the {@link SkriptPattern}s requiring them,
+ * used to quickly find the patterns that may match an expression.
+ * <p>
+ * Each pattern is indexed under the least common of its {@link SkriptPattern#getRequiredWords() required words}.
+ * Patterns without any required words are candidates for every expression.
+ * The remaining keywords of a candidate are still checked by {@link SkriptPattern#match(String, String, int, ch.njol.skript.lang.ParseContext)}.
+ */
+public final class KeywordIndex {
+
+	private static final LongAdder tried = new LongAdder();
+	private static final LongAdder skipped = new LongAdder();
+
+	private final int size;
+	private final Map<String, BitSet> patternsByWord;
+	private final BitSet unindexed;
+
+	private KeywordIndex(int size, Map<String, BitSet> patternsByWord, BitSet unindexed) {
+		this.size = size;
+		this.patternsByWord = patternsByWord;
+		this.unindexed = unindexed;
+	}
+
+	/**
+	 * Builds an index of the given patterns.
+	 * A pattern must only be part of one index at a time.
+	 * @param patterns The patterns to index.
+	 * @return The new index.
+	 */
+	public static KeywordIndex build(Collection<SkriptPattern> patterns) {
+		List<Set<String>> requiredWords = new ArrayList<>(patterns.size());
+		Map<String, Integer> wordCounts = new HashMap<>();
+		for (SkriptPattern pattern : patterns) {
+			Set<String> words = pattern.getRequiredWords();
+			requiredWords.add(words);
+			for (String word : words)
+				wordCounts.merge(word, 1, Integer::sum);
+		}
+
+		Map<String, BitSet> patternsByWord = new HashMap<>();
+		BitSet unindexed = new BitSet(patterns.size());
+		int id = 0;
+		for (SkriptPattern pattern : patterns) {
+			pattern.indexId = id;
+
+			String rarestWord = null;
+			int rarestCount = Integer.MAX_VALUE;
+			for (String word : requiredWords.get(id)) {
+				int count = wordCounts.get(word);
+				if (count < rarestCount) {
+					rarestWord = word;
+					rarestCount = count;
+				}
+			}
+
+			if (rarestWord == null) {
+				unindexed.set(id);
+			} else {
+				patternsByWord.computeIfAbsent(rarestWord, word -> new BitSet()).set(id);
+			}
+			id++;
+		}
+
+		return new KeywordIndex(id, patternsByWord, unindexed);
+	}
+
+	/**
+	 * Finds the patterns that may match the given expression.
+	 * @param lowerExpr The trimmed expression, converted to lower case with {@link Locale#ENGLISH}.
+	 * @return The candidates for the expression.
+	 */
+	public Candidates getCandidates(String lowerExpr) {
+		BitSet candidates = (BitSet) unindexed.clone();
+		int length = lowerExpr.length();
+		int start = 0;
+		while (start <= length) {
+			int end = lowerExpr.indexOf(' ', start);
+			if (end == -1)
+				end = length;
+			if (end > start) {
+				BitSet patterns = patternsByWord.get(lowerExpr.substring(start, end));
+				if (patterns != null)
+					candidates.or(patterns);
+			}
+			start = end + 1;
+		}
+		return new Candidates(candidates);
+	}
+
+	/**
+	 * @return The amount of patterns that were tried after being looked up in any index.
+	 */
+	public static long getTriedCount() {
+		return tried.sum();
+	}
+
+	/**
+	 * @return The amount of patterns that were skipped after being looked up in any index.
+	 */
+	public static long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	/**
+	 * The patterns that may match a specific expression.
+	 */
+	public final class Candidates {
+
+		private final BitSet candidates;
+
+		private Candidates(BitSet candidates) {
+			this.candidates = candidates;
+		}
+
+		/**
+		 * Checks whether the given pattern may match the expression, and counts it as tried or skipped.
+		 * Patterns that are not part of the index are always candidates.
+		 * @param pattern The pattern to check.
+		 * @return Whether the pattern should be tried.
+		 */
+		public boolean test(SkriptPattern pattern) {
+			int id = pattern.indexId;
+			if (id < 0 || id >= size || candidates.get(id)) {
+				tried.increment();
+				return true;
+			}
+			skipped.increment();
+			return false;
+		}
+
+	}
+
+}
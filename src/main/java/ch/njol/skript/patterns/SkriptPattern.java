@@ -25,8 +25,11 @@ import com.google.common.collect.ImmutableList;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 public class SkriptPattern {
 
@@ -37,6 +40,11 @@ public class SkriptPattern {
 	@Nullable
 	private List<TypePatternElement> types;
 
+	/**
+	 * The position of this pattern in the {@link KeywordIndex} it was last added to, or -1.
+	 */
+	int indexId = -1;
+
 	public SkriptPattern(PatternElement first, int expressionAmount) {
 		this.first = first;
 		this.expressionAmount = expressionAmount;
@@ -45,8 +53,17 @@ public class SkriptPattern {
 
 	@Nullable
 	public MatchResult match(String expr, int flags, ParseContext parseContext) {
+		return match(expr, expr.toLowerCase(Locale.ENGLISH), flags, parseContext);
+	}
+
+	/**
+	 * Matches the given expression, using an already lowercased version of it for the keyword shortcut.
+	 * @param expr The expression to match.
+	 * @param lowerExpr <code>expr</code> converted to lower case with {@link Locale#ENGLISH}.
+	 */
+	@Nullable
+	public MatchResult match(String expr, String lowerExpr, int flags, ParseContext parseContext) {
 		// Matching shortcut
-		String lowerExpr = expr.toLowerCase(Locale.ENGLISH);
 		for (Keyword keyword : keywords) {
 			if (!keyword.isPresent(lowerExpr))
 				return null;
@@ -68,6 +85,17 @@ public class SkriptPattern {
 		return match(expr, SkriptParser.ALL_FLAGS, ParseContext.DEFAULT);
 	}
 
+	/**
+	 * @return All words that must be present as whole words in an expression for it to match this pattern.
+	 * @see Keyword#collectWords(Collection)
+	 */
+	Set<String> getRequiredWords() {
+		Set<String> words = new HashSet<>();
+		for (Keyword keyword : keywords)
+			keyword.collectWords(words);
+		return words;
+	}
+
 	@Override
 	public String toString() {
 		return first.toFullString();
@@ -25,6 +25,7 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.SkriptParser.ExprInfo;
 import ch.njol.skript.lang.UnparsedLiteral;
+import ch.njol.skript.lang.parser.ParseMemo;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.log.ErrorQuality;
 import ch.njol.skript.log.ParseLogHandler;
@@ -141,6 +142,7 @@ public class TypePatternElement extends PatternElement {
 			return null;
 
 		ExprInfo exprInfo = getExprInfo();
+		ParseMemo memo = ParseMemo.get();
 
 		MatchResult matchBackup = null;
 		ParseLogHandler loopLogHandlerBackup = null;
@@ -156,11 +158,16 @@ public class TypePatternElement extends PatternElement {
 
 				MatchResult newMatchResult = matchNext(expr, matchResultCopy);
 
-				if (newMatchResult != null) {
+				String subExpr = newMatchResult == null ? null : expr.substring(matchResult.exprOffset, newExprOffset);
+				int flags = matchResult.flags & flagMask;
+
+				if (subExpr != null && !memo.replayFailure(subExpr, flags, matchResult.parseContext, exprInfo)) {
 					ParseLogHandler expressionLogHandler = SkriptLogger.startParseLogHandler();
 					try {
-						Expression<?> expression = new SkriptParser(expr.substring(matchResult.exprOffset, newExprOffset), matchResult.flags & flagMask, matchResult.parseContext).parseExpression(exprInfo);
-						if (expression != null) {
+						Expression<?> expression = new SkriptParser(subExpr, flags, matchResult.parseContext).parseExpression(exprInfo);
+						if (expression == null) {
+							memo.addFailure(subExpr, flags, matchResult.parseContext, exprInfo, expressionLogHandler.getError());
+						} else {
 							if (time != 0) {
 								if (expression instanceof Literal)
 									return null;
@@ -20,7 +20,10 @@ package ch.njol.skript.registrations;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
@@ -102,6 +105,12 @@ public class EventValues {
 	private final static List<EventValueInfo<?, ?>> futureEventValues = new ArrayList<>();
 	private final static List<EventValueInfo<?, ?>> pastEventValues = new ArrayList<>();
 
+	/**
+	 * The getters found by {@link #getEventValueGetters(Class, Class, int, boolean, boolean)}, built lazily.
+	 * Cleared whenever an event value is registered.
+	 */
+	private final static Map<GettersKey, GettersResult> resolvedGetters = new ConcurrentHashMap<>();
+
 	/**
 	 * The past time of an event value. Represented by "past" or "former".
 	 */
@@ -167,6 +176,7 @@ public class EventValues {
 	@SafeVarargs
 	public static <T, E extends Event> void registerEventValue(Class<E> event, Class<T> type, Getter<T, E> getter, int time, @Nullable String excludeErrorMessage, @Nullable Class<? extends E>... excludes) {
 		Skript.checkAcceptRegistrations();
+		resolvedGetters.clear();
 		List<EventValueInfo<?, ?>> eventValues = getEventValuesList(time);
 		for (int i = 0; i < eventValues.size(); i++) {
 			EventValueInfo<?, ?> info = eventValues.get(i);
@@ -219,15 +229,29 @@ public class EventValues {
 	@Nullable
 	@SuppressWarnings("unchecked")
 	public static <T, E extends Event> Getter<? extends T, ? super E> getExactEventValueGetter(Class<E> event, Class<T> c, int time) {
+		EventValueInfo<?, ?> eventValueInfo = getExactEventValueInfo(event, c, time);
+		if (eventValueInfo == null)
+			return null;
+		if (!checkExcludes(eventValueInfo, event)) {
+			Skript.error(eventValueInfo.excludeErrorMessage);
+			return null;
+		}
+		return (Getter<? extends T, ? super E>) eventValueInfo.getter;
+	}
+
+	/**
+	 * @return The event value info of exactly the given type for the event,
+	 * or the first one of that type that excludes the event, see {@link #checkExcludes(EventValueInfo, Class)}.
+	 */
+	@Nullable
+	private static EventValueInfo<?, ?> getExactEventValueInfo(Class<? extends Event> event, Class<?> c, int time) {
 		List<EventValueInfo<?, ?>> eventValues = getEventValuesList(time);
 		// First check for exact classes matching the parameters.
 		for (EventValueInfo<?, ?> eventValueInfo : eventValues) {
 			if (!c.equals(eventValueInfo.c))
 				continue;
-			if (!checkExcludes(eventValueInfo, event))
-				return null;
-			if (eventValueInfo.event.isAssignableFrom(event))
-				return (Getter<? extends T, ? super E>) eventValueInfo.getter;
+			if (!checkExcludes(eventValueInfo, event) || eventValueInfo.event.isAssignableFrom(event))
+				return eventValueInfo;
 		}
 		return null;
 	}
@@ -277,27 +301,52 @@ public class EventValues {
 		return getEventValueGetters(event, type, time, allowDefault, true);
 	}
 
+	/**
+	 * Looks up the getters in {@link #resolvedGetters}, and finds them if they were not looked up before.
+	 * Prints the errors of the event values that are excluded for the event, also when the getters were already found.
+	 * @return An unmodifiable list of the getters, or null if there are none.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static <T, E extends Event> List<Getter<? extends T, ? super E>> getEventValueGetters(Class<E> event, Class<T> type, int time, boolean allowDefault, boolean allowConverting) {
+		GettersKey key = new GettersKey(event, type, time, allowDefault, allowConverting);
+		GettersResult result = resolvedGetters.get(key);
+		if (result == null) {
+			result = findEventValueGetters(event, type, time, allowDefault, allowConverting, new ArrayList<>());
+			resolvedGetters.putIfAbsent(key, result);
+		}
+		for (EventValueInfo<?, ?> excluded : result.excluded)
+			Skript.error(excluded.excludeErrorMessage);
+		return (List<Getter<? extends T, ? super E>>) (List<?>) result.getters;
+	}
+
 	/*
 	 * We need to be able to collect all possible event-values to a list for determining problematic collisions.
 	 * Always return after the loop check if the list is not empty.
+	 * Event values that exclude the event are collected in the given list, so their errors can be printed on every lookup.
 	 */
-	@Nullable
 	@SuppressWarnings("unchecked")
-	private static <T, E extends Event> List<Getter<? extends T, ? super E>> getEventValueGetters(Class<E> event, Class<T> type, int time, boolean allowDefault, boolean allowConverting) {
+	private static <T, E extends Event> GettersResult findEventValueGetters(Class<E> event, Class<T> type, int time, boolean allowDefault, boolean allowConverting, List<EventValueInfo<?, ?>> excluded) {
 		List<EventValueInfo<?, ?>> eventValues = getEventValuesList(time);
 		List<Getter<? extends T, ? super E>> list = new ArrayList<>();
 		// First check for exact classes matching the parameters.
-		Getter<? extends T, ? super E> exact = (Getter<? extends T, ? super E>) getExactEventValueGetter(event, type, time);
+		EventValueInfo<?, ?> exact = getExactEventValueInfo(event, type, time);
 		if (exact != null) {
-			list.add(exact);
-			return list;
+			if (checkExcludes(exact, event)) {
+				list.add((Getter<? extends T, ? super E>) exact.getter);
+				return GettersResult.of(list, excluded);
+			}
+			// An excluded exact value only prints its error, the other checks may still find a getter
+			excluded.add(exact);
 		}
 		// Second check for assignable subclasses.
 		for (EventValueInfo<?, ?> eventValueInfo : eventValues) {
 			if (!type.isAssignableFrom(eventValueInfo.c))
 				continue;
-			if (!checkExcludes(eventValueInfo, event))
-				return null;
+			if (!checkExcludes(eventValueInfo, event)) {
+				excluded.add(eventValueInfo);
+				return GettersResult.of(null, excluded);
+			}
 			if (eventValueInfo.event.isAssignableFrom(event)) {
 				list.add((Getter<? extends T, ? super E>) eventValueInfo.getter);
 				continue;
@@ -316,9 +365,9 @@ public class EventValues {
 			continue;
 		}
 		if (!list.isEmpty())
-			return list;
+			return GettersResult.of(list, excluded);
 		if (!allowConverting)
-			return null;
+			return GettersResult.of(null, excluded);
 		// Most checks have returned before this below is called, but Skript will attempt to convert or find an alternative.
 		// Third check is if the returned object matches the class.
 		for (EventValueInfo<?, ?> eventValueInfo : eventValues) {
@@ -327,8 +376,10 @@ public class EventValues {
 			boolean checkInstanceOf = !eventValueInfo.event.isAssignableFrom(event);
 			if (checkInstanceOf && !event.isAssignableFrom(eventValueInfo.event))
 				continue;
-			if (!checkExcludes(eventValueInfo, event))
-				return null;
+			if (!checkExcludes(eventValueInfo, event)) {
+				excluded.add(eventValueInfo);
+				return GettersResult.of(null, excluded);
+			}
 			list.add(new Getter<T, E>() {
 				@Override
 				@Nullable
@@ -344,7 +395,7 @@ public class EventValues {
 			continue;
 		}
 		if (!list.isEmpty())
-			return list;
+			return GettersResult.of(list, excluded);
 		// Fourth check will attempt to convert the event value to the requesting type.
 		// This first for loop will check that the events are exact. See issue #5016
 		for (EventValueInfo<?, ?> eventValueInfo : eventValues) {
@@ -355,13 +406,15 @@ public class EventValues {
 			if (getter == null)
 				continue;
 			
-			if (!checkExcludes(eventValueInfo, event))
-				return null;
+			if (!checkExcludes(eventValueInfo, event)) {
+				excluded.add(eventValueInfo);
+				return GettersResult.of(null, excluded);
+			}
 			list.add(getter);
 			continue;
 		}
 		if (!list.isEmpty())
-			return list;
+			return GettersResult.of(list, excluded);
 		// This loop will attempt to look for converters assignable to the class of the provided event.
 		for (EventValueInfo<?, ?> eventValueInfo : eventValues) {
 			// The requesting event must be assignable to the event value's event. Otherwise it'll throw an error.
@@ -372,22 +425,24 @@ public class EventValues {
 			if (getter == null)
 				continue;
 
-			if (!checkExcludes(eventValueInfo, event))
-				return null;
+			if (!checkExcludes(eventValueInfo, event)) {
+				excluded.add(eventValueInfo);
+				return GettersResult.of(null, excluded);
+			}
 			list.add(getter);
 			continue;
 		}
 		if (!list.isEmpty())
-			return list;
+			return GettersResult.of(list, excluded);
 		// If the check should try again matching event values with a 0 time (most event values).
 		if (allowDefault && time != 0)
-			return getEventValueGetters(event, type, 0, false);
-		return null;
+			return findEventValueGetters(event, type, 0, false, true, excluded);
+		return GettersResult.of(null, excluded);
 	}
 
 	/**
 	 * Check if the event value states to exclude events.
-	 * False if the current EventValueInfo cannot operate in the provided event.
+	 * False if the current EventValueInfo cannot operate in the provided event, in which case its error should be printed.
 	 * 
 	 * @param info The event value info that will be used to grab the value from
 	 * @param event The event class to check the excludes against.
@@ -397,10 +452,8 @@ public class EventValues {
 		if (info.excludes == null)
 			return true;
 		for (Class<? extends Event> ex : (Class<? extends Event>[]) info.excludes) {
-			if (ex.isAssignableFrom(event)) {
-				Skript.error(info.excludeErrorMessage);
+			if (ex.isAssignableFrom(event))
 				return false;
-			}
 		}
 		return true;
 	}
@@ -432,6 +485,65 @@ public class EventValues {
 		};
 	}
 
+	private static final class GettersKey {
+
+		private final Class<? extends Event> event;
+		private final Class<?> type;
+		private final int time;
+		private final boolean allowDefault;
+		private final boolean allowConverting;
+
+		private GettersKey(Class<? extends Event> event, Class<?> type, int time, boolean allowDefault, boolean allowConverting) {
+			this.event = event;
+			this.type = type;
+			this.time = time;
+			this.allowDefault = allowDefault;
+			this.allowConverting = allowConverting;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (!(other instanceof GettersKey))
+				return false;
+			GettersKey key = (GettersKey) other;
+			return event == key.event && type == key.type && time == key.time
+				&& allowDefault == key.allowDefault && allowConverting == key.allowConverting;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = event.hashCode();
+			result = 31 * result + type.hashCode();
+			result = 31 * result + time;
+			result = 31 * result + (allowDefault ? 2 : 0) + (allowConverting ? 1 : 0);
+			return result;
+		}
+
+	}
+
+	/**
+	 * The getters found for a {@link GettersKey}, and the event values that exclude its event, in the order their errors are printed.
+	 */
+	private static final class GettersResult {
+
+		@Nullable
+		private final List<Getter<?, ?>> getters;
+		private final List<EventValueInfo<?, ?>> excluded;
+
+		private GettersResult(@Nullable List<Getter<?, ?>> getters, List<EventValueInfo<?, ?>> excluded) {
+			this.getters = getters;
+			this.excluded = excluded;
+		}
+
+		private static GettersResult of(@Nullable List<? extends Getter<?, ?>> getters, List<EventValueInfo<?, ?>> excluded) {
+			return new GettersResult(
+				getters == null ? null : Collections.unmodifiableList(getters),
+				excluded.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(excluded))
+			);
+		}
+
+	}
+
 	public static boolean doesExactEventValueHaveTimeStates(Class<? extends Event> event, Class<?> c) {
 		return getExactEventValueGetter(event, c, TIME_PAST) != null || getExactEventValueGetter(event, c, TIME_FUTURE) != null;
 	}
@@ -28,6 +28,7 @@ import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.LoopSection;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.util.ContainerExpression;
@@ -40,8 +41,6 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 @Name("Loop")
 @Description({
@@ -89,8 +88,10 @@ public class SecLoop extends LoopSection {
 	@SuppressWarnings("NotNullFieldNotInitialized")
 	private Expression<?> expr;
 
-	private final transient Map<Event, Object> current = new WeakHashMap<>();
-	private final transient Map<Event, Iterator<?>> currentIter = new WeakHashMap<>();
+	/**
+	 * The slot of the {@link LoopState} in the {@link TriggerFrame} of an event.
+	 */
+	private final int stateSlot = TriggerFrame.allocateSlot();
 
 	@Nullable
 	private TriggerItem actualNext;
@@ -130,23 +131,22 @@ public class SecLoop extends LoopSection {
 	@Override
 	@Nullable
 	protected TriggerItem walk(Event event) {
-		Iterator<?> iter = currentIter.get(event);
-		if (iter == null) {
-			iter = expr instanceof Variable ? ((Variable<?>) expr).variablesIterator(event) : expr.iterator(event);
-			if (iter != null) {
-				if (iter.hasNext())
-					currentIter.put(event, iter);
-				else
-					iter = null;
+		TriggerFrame frame = TriggerFrame.of(event);
+		LoopState state = (LoopState) frame.getSlot(stateSlot, this);
+		if (state == null) {
+			Iterator<?> iter = expr instanceof Variable ? ((Variable<?>) expr).variablesIterator(event) : expr.iterator(event);
+			if (iter != null && iter.hasNext()) {
+				state = new LoopState(iter);
+				frame.setSlot(stateSlot, this, state);
 			}
 		}
-		if (iter == null || !iter.hasNext()) {
+		if (state == null || !state.iter.hasNext()) {
 			exit(event);
 			debug(event, false);
 			return actualNext;
 		} else {
-			current.put(event, iter.next());
-			currentLoopCounter.put(event, (currentLoopCounter.getOrDefault(event, 0L)) + 1);
+			state.current = state.iter.next();
+			increaseLoopCounter(event);
 			return walk(event, true);
 		}
 	}
@@ -158,7 +158,9 @@ public class SecLoop extends LoopSection {
 
 	@Nullable
 	public Object getCurrent(Event event) {
-		return current.get(event);
+		TriggerFrame frame = TriggerFrame.find(event);
+		LoopState state = frame == null ? null : (LoopState) frame.getSlot(stateSlot, this);
+		return state == null ? null : state.current;
 	}
 
 	public Expression<?> getLoopedExpression() {
@@ -179,9 +181,25 @@ public class SecLoop extends LoopSection {
 
 	@Override
 	public void exit(Event event) {
-		current.remove(event);
-		currentIter.remove(event);
+		TriggerFrame frame = TriggerFrame.find(event);
+		if (frame != null)
+			frame.setSlot(stateSlot, this, null);
 		super.exit(event);
 	}
 
+	/**
+	 * The iteration state of a loop in a {@link TriggerFrame}.
+	 */
+	private static final class LoopState {
+
+		private final Iterator<?> iter;
+		@Nullable
+		private Object current;
+
+		private LoopState(Iterator<?> iter) {
+			this.iter = iter;
+		}
+
+	}
+
 }
@@ -95,7 +95,7 @@ public class SecWhile extends LoopSection {
 	protected TriggerItem walk(Event event) {
 		if ((doWhile && !ranDoWhile) || condition.check(event)) {
 			ranDoWhile = true;
-			currentLoopCounter.put(event, (currentLoopCounter.getOrDefault(event, 0L)) + 1);
+			increaseLoopCounter(event);
 			return walk(event, true);
 		} else {
 			exit(event);
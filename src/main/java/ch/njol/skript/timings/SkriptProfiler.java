@@ -0,0 +1,382 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.timings;
+
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how often and how long triggers, and optionally each of their statements, run.
+ * Unlike {@link SkriptTimings}, this does not depend on the server's timings and records every execution.
+ * <p>
+ * A trigger is measured each time it is {@link TriggerItem#walk(TriggerItem, org.bukkit.event.Event) walked},
+ * i.e. when it starts and each time it continues after a delay, including the time spent in the functions it calls.
+ * Starts and continuations are counted separately, and durations are per walk.
+ * A statement is measured for the time it takes to run itself, which for a section only includes its condition.
+ * <p>
+ * Results are recorded by script and line, so they don't keep unloaded scripts in memory,
+ * and results of a script that is reloaded are added to those of its previous version.
+ * They are kept until profiling is started again.
+ */
+public final class SkriptProfiler {
+
+	/**
+	 * Durations are counted in buckets of which each covers half of a power of two nanoseconds.
+	 */
+	private static final int BUCKETS = 128;
+
+	private static volatile boolean enabled;
+	private static volatile boolean statements;
+
+	private static final Map<Key, Entry> triggers = new ConcurrentHashMap<>();
+	private static final Map<Key, Entry> items = new ConcurrentHashMap<>();
+
+	@Nullable
+	private static final com.sun.management.ThreadMXBean ALLOCATIONS;
+
+	static {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			ALLOCATIONS = (com.sun.management.ThreadMXBean) threads;
+			ALLOCATIONS.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			ALLOCATIONS = null;
+		}
+	}
+
+	private SkriptProfiler() {}
+
+	/**
+	 * Discards all results and starts profiling.
+	 * @param statements Whether each statement should be profiled, and not only whole triggers.
+	 */
+	public static void start(boolean statements) {
+		triggers.clear();
+		items.clear();
+		SkriptProfiler.statements = statements;
+		enabled = true;
+	}
+
+	/**
+	 * Stops profiling, the results are kept.
+	 */
+	public static void stop() {
+		enabled = false;
+		statements = false;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return Whether each statement is profiled.
+	 */
+	public static boolean isProfilingStatements() {
+		return statements;
+	}
+
+	/**
+	 * Starts measuring an execution, to be finished with {@link Sample#stop()}.
+	 * @param item The trigger item whose execution is measured.
+	 * @param trigger Whether the whole trigger of the item is measured, or only the item.
+	 *                   If the item isn't a trigger itself, this is a continuation of the trigger.
+	 * @return The started sample.
+	 */
+	public static Sample sample(TriggerItem item, boolean trigger) {
+		return new Sample(item, trigger);
+	}
+
+	/**
+	 * @return The profiled triggers, slowest in total first.
+	 */
+	public static List<Entry> getTriggers(int limit) {
+		return sorted(triggers, limit);
+	}
+
+	/**
+	 * @return The profiled statements, slowest in total first.
+	 */
+	public static List<Entry> getStatements(int limit) {
+		return sorted(items, limit);
+	}
+
+	private static List<Entry> sorted(Map<Key, Entry> entries, int limit) {
+		return entries.values().stream()
+			.sorted(Comparator.comparingLong(Entry::getTotalNanos).reversed())
+			.limit(limit)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Writes all results to a file as comma separated values, with one line per trigger or statement.
+	 * @param file The file to write to.
+	 */
+	public static void dump(File file) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+			out.println("kind,script,line,name,invocations,continuations,total nanos,mean nanos per walk,p99 nanos per walk,allocated bytes");
+			for (Entry entry : sorted(triggers, Integer.MAX_VALUE))
+				dump(out, "trigger", entry);
+			for (Entry entry : sorted(items, Integer.MAX_VALUE))
+				dump(out, "statement", entry);
+		}
+	}
+
+	private static void dump(PrintWriter out, String kind, Entry entry) {
+		out.println(kind + "," + quote(entry.getScript()) + "," + entry.getLine() + "," + quote(entry.getName()) + ","
+			+ entry.getInvocations() + "," + entry.getContinuations() + "," + entry.getTotalNanos() + "," + entry.getMeanNanos() + ","
+			+ entry.getPercentileNanos(0.99) + "," + entry.getAllocatedBytes());
+	}
+
+	private static String quote(String value) {
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static long allocatedBytes() {
+		com.sun.management.ThreadMXBean allocations = ALLOCATIONS;
+		return allocations == null ? 0 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * A running measurement of one execution.
+	 */
+	public static final class Sample {
+
+		private final TriggerItem item;
+		private final boolean trigger;
+		private final long startNanos;
+		private final long startBytes;
+
+		private Sample(TriggerItem item, boolean trigger) {
+			this.item = item;
+			this.trigger = trigger;
+			this.startBytes = allocatedBytes();
+			this.startNanos = System.nanoTime();
+		}
+
+		/**
+		 * Records the execution, unless profiling has been stopped meanwhile.
+		 */
+		public void stop() {
+			long nanos = System.nanoTime() - startNanos;
+			long bytes = allocatedBytes() - startBytes;
+			if (!enabled)
+				return;
+			TriggerItem measured = trigger ? item.getTrigger() : item;
+			if (measured == null) // a stand-alone item, e.g. of an effect command
+				measured = item;
+			Key key = new Key(measured);
+			Map<Key, Entry> entries = trigger ? triggers : items;
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				TriggerItem finalMeasured = measured;
+				entry = entries.computeIfAbsent(key, k -> new Entry(k, finalMeasured));
+			}
+			entry.record(nanos, bytes, trigger && measured != item);
+		}
+
+	}
+
+	/**
+	 * Identifies a trigger or statement by its script, line and type,
+	 * so results don't reference the trigger items themselves.
+	 */
+	private static final class Key {
+
+		private final String script;
+		private final int line;
+		private final Class<?> type;
+
+		private Key(TriggerItem item) {
+			Trigger trigger = item.getTrigger();
+			Script script = trigger == null ? null : trigger.getScript();
+			String fileName = script == null ? null : script.getConfig().getFileName();
+			this.script = fileName == null ? "" : fileName;
+			this.line = item.getLineNumber();
+			this.type = item.getClass();
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key key = (Key) other;
+			return line == key.line && type == key.type && script.equals(key.script);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * script.hashCode() + line) + type.hashCode();
+		}
+
+	}
+
+	/**
+	 * The results of a single trigger or statement.
+	 */
+	public static final class Entry {
+
+		private final String script;
+		private final int line;
+		private final String name;
+
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder continuations = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+		private Entry(Key key, TriggerItem item) {
+			this.script = key.script;
+			this.line = key.line;
+			this.name = item instanceof Trigger ? ((Trigger) item).getDebugLabel() : item.toString(null, false);
+		}
+
+		private void record(long nanos, long bytes, boolean continuation) {
+			if (continuation) {
+				continuations.increment();
+			} else {
+				invocations.increment();
+			}
+			this.nanos.add(nanos);
+			if (bytes > 0)
+				this.bytes.add(bytes);
+			buckets.incrementAndGet(bucket(nanos));
+		}
+
+		private static int bucket(long nanos) {
+			if (nanos < 2)
+				return 0;
+			int power = 63 - Long.numberOfLeadingZeros(nanos);
+			int half = (int) (nanos >>> (power - 1)) & 1; // the bit after the highest one
+			return Math.min(2 * power + half, BUCKETS - 1);
+		}
+
+		/**
+		 * @return The largest duration in the given bucket.
+		 */
+		private static long upperBound(int bucket) {
+			int power = bucket / 2;
+			long lower = (1L << power) + (bucket % 2 == 0 ? 0 : 1L << power >>> 1);
+			long width = power == 0 ? 1 : 1L << power >>> 1;
+			return lower + width - 1;
+		}
+
+		/**
+		 * @return The script file the trigger or statement is in, or an empty string if it's unknown.
+		 */
+		public String getScript() {
+			return script;
+		}
+
+		/**
+		 * @return The line the trigger or statement starts at, or -1 if it's unknown.
+		 */
+		public int getLine() {
+			return line;
+		}
+
+		/**
+		 * @return The name of the trigger or statement when it was first recorded.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return How often the trigger started, or how often the statement ran.
+		 */
+		public long getInvocations() {
+			return invocations.sum();
+		}
+
+		/**
+		 * @return How often the trigger continued after a delay, always 0 for statements.
+		 */
+		public long getContinuations() {
+			return continuations.sum();
+		}
+
+		/**
+		 * @return How often the trigger or statement was measured, i.e. the invocations and continuations.
+		 */
+		public long getWalks() {
+			return getInvocations() + getContinuations();
+		}
+
+		public long getTotalNanos() {
+			return nanos.sum();
+		}
+
+		/**
+		 * @return The mean duration of a single walk.
+		 */
+		public long getMeanNanos() {
+			long walks = getWalks();
+			return walks == 0 ? 0 : getTotalNanos() / walks;
+		}
+
+		/**
+		 * @param percentile The percentile between 0 and 1, e.g. 0.99.
+		 * @return An estimate of the duration that the given share of the walks did not exceed,
+		 * accurate to a fourth of the duration.
+		 */
+		public long getPercentileNanos(double percentile) {
+			long total = 0;
+			long[] counts = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++)
+				total += counts[i] = buckets.get(i);
+			long target = (long) Math.ceil(total * percentile);
+			long count = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				count += counts[i];
+				if (count >= target && count > 0)
+					return upperBound(i);
+			}
+			return 0;
+		}
+
+		/**
+		 * @return An estimate of the bytes allocated by the current thread during the executions,
+		 * or 0 if the JVM doesn't support measuring them.
+		 */
+		public long getAllocatedBytes() {
+			return bytes.sum();
+		}
+
+	}
+
+}
@@ -26,6 +26,7 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.effects.Delay;
 import ch.njol.skript.lang.Effect;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.variables.Variables;
@@ -46,12 +47,12 @@ public abstract class AsyncEffect extends Effect {
 	protected TriggerItem walk(Event e) {
 		debug(e, true);
 		
-		Delay.addDelayedEvent(e); // Mark this event as delayed
-		Object localVars = Variables.removeLocals(e); // Back up local variables
-
 		if (!Skript.getInstance().isEnabled()) // See https://github.com/SkriptLang/Skript/issues/3702
 			return null;
 
+		Delay.addDelayedEvent(e); // Mark this event as delayed
+		Object localVars = Variables.removeLocals(e); // Back up local variables
+
 		Bukkit.getScheduler().runTaskAsynchronously(Skript.getInstance(), () -> {
 			// Re-set local variables
 			if (localVars != null)
@@ -72,11 +73,13 @@ public abstract class AsyncEffect extends Effect {
 					TriggerItem.walk(getNext(), e);
 					
 					Variables.removeLocals(e); // Clean up local vars, we may be exiting now
+					TriggerFrame.finishDelay(e);
 					
 					SkriptTimings.stop(timing); // Stop timing if it was even started
 				});
 			} else {
 				Variables.removeLocals(e);
+				TriggerFrame.finishDelay(e);
 			}
 		});
 		return null;
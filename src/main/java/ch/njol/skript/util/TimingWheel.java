@@ -0,0 +1,322 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import ch.njol.skript.Skript;
+import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A hashed timing wheel that runs tasks on the main thread after a delay in ticks,
+ * used for resuming delayed triggers and for periodical events.
+ * <p>
+ * Instead of scheduling one Bukkit task for each delay, a single repeating task advances the wheel every tick
+ * and runs all tasks that are due in that tick, in the order they were scheduled.
+ * Tasks may be scheduled from any thread.
+ * <p>
+ * If a {@link #setBudget(long) budget} is set, tasks that are due after the budget of a tick has been used up
+ * are deferred to the next tick, where they run before the tasks due in that tick.
+ */
+public final class TimingWheel {
+
+	/**
+	 * The amount of buckets of the wheel, must be a power of two.
+	 * Tasks with longer delays stay in their bucket for multiple rotations.
+	 */
+	private static final int WHEEL_SIZE = 512;
+	private static final int MASK = WHEEL_SIZE - 1;
+
+	private static final Handle[] heads = new Handle[WHEEL_SIZE];
+	private static final Handle[] tails = new Handle[WHEEL_SIZE];
+
+	/**
+	 * Tasks scheduled since the last tick, added to the wheel on the main thread.
+	 */
+	private static final Queue<Handle> scheduled = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Due tasks that did not fit into the budget of their tick, in the order they were due.
+	 */
+	@Nullable
+	private static Handle deferredHead, deferredTail;
+	private static volatile int deferredCount;
+
+	private static final AtomicInteger pending = new AtomicInteger();
+	private static final LongAdder executed = new LongAdder();
+	private static final LongAdder deferred = new LongAdder();
+
+	/**
+	 * The time tasks may run for in each tick in nanoseconds, or 0 if there is no limit.
+	 */
+	private static volatile long budget;
+
+	/**
+	 * Whether a task has run in the current tick, which is always allowed regardless of the budget.
+	 * Only accessed on the main thread.
+	 */
+	private static boolean ranInTick;
+
+	/**
+	 * The last tick the wheel has advanced to.
+	 */
+	private static volatile long currentTick;
+
+	private static int taskId = -1;
+
+	/**
+	 * Whether the wheel is advanced by calling {@link #tick()} directly instead of by a Bukkit task, used in tests.
+	 */
+	static boolean manualTicking;
+
+	private TimingWheel() {}
+
+	/**
+	 * Runs a task once on the main thread.
+	 * @param task The task.
+	 * @param delay The delay in ticks, at least one.
+	 * @return A handle to cancel the task.
+	 */
+	public static Handle schedule(Runnable task, long delay) {
+		return schedule(task, delay, 0);
+	}
+
+	/**
+	 * Runs a task repeatedly on the main thread, until it is cancelled.
+	 * @param task The task.
+	 * @param delay The delay before the first run in ticks, at least one.
+	 * @param period The delay between runs in ticks, at least one.
+	 * @return A handle to cancel the task.
+	 */
+	public static Handle scheduleRepeating(Runnable task, long delay, long period) {
+		return schedule(task, delay, Math.max(period, 1));
+	}
+
+	private static Handle schedule(Runnable task, long delay, long period) {
+		Handle handle = new Handle(task, currentTick + Math.max(delay, 1), period);
+		pending.incrementAndGet();
+		scheduled.add(handle);
+		start();
+		return handle;
+	}
+
+	private static synchronized void start() {
+		if (taskId == -1 && !manualTicking)
+			taskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), TimingWheel::tick, 1, 1);
+	}
+
+	/**
+	 * Forgets all scheduled tasks, called when Skript is disabled.
+	 */
+	public static synchronized void clear() {
+		if (taskId != -1)
+			Bukkit.getScheduler().cancelTask(taskId);
+		taskId = -1;
+		scheduled.clear();
+		deferredHead = null;
+		deferredTail = null;
+		deferredCount = 0;
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			heads[i] = null;
+			tails[i] = null;
+		}
+		pending.set(0);
+	}
+
+	/**
+	 * Sets how long tasks may run for in each tick.
+	 * Once the budget is used up, the remaining due tasks are deferred to the next tick.
+	 * At least one task runs in each tick, regardless of the budget.
+	 * @param nanos The budget in nanoseconds, or 0 for no limit.
+	 */
+	public static void setBudget(long nanos) {
+		budget = Math.max(nanos, 0);
+	}
+
+	/**
+	 * @return The amount of tasks that are scheduled, including repeating tasks.
+	 */
+	public static int getPendingCount() {
+		return pending.get();
+	}
+
+	/**
+	 * @return The amount of times a task was run since Skript was started.
+	 */
+	public static long getExecutedCount() {
+		return executed.sum();
+	}
+
+	/**
+	 * @return The amount of due tasks that are currently deferred to the next tick.
+	 */
+	public static int getDeferredCount() {
+		return deferredCount;
+	}
+
+	/**
+	 * @return The amount of times a due task was deferred to the next tick since Skript was started.
+	 */
+	public static long getTotalDeferredCount() {
+		return deferred.sum();
+	}
+
+	/**
+	 * Advances the wheel by one tick, and runs the tasks that are due.
+	 * Called by the Bukkit task every tick.
+	 */
+	static void tick() {
+		long tick = currentTick + 1;
+		currentTick = tick;
+
+		Handle handle;
+		while ((handle = scheduled.poll()) != null)
+			add(handle, tick);
+
+		long budget = TimingWheel.budget;
+		long deadline = budget == 0 ? 0 : System.nanoTime() + budget;
+		ranInTick = false;
+
+		// tasks deferred from the previous tick run first
+		Handle head = deferredHead;
+		deferredHead = null;
+		deferredTail = null;
+		deferredCount = 0;
+		process(head, tick, -1, deadline);
+
+		int bucket = (int) (tick & MASK);
+		head = heads[bucket];
+		heads[bucket] = null;
+		tails[bucket] = null;
+		process(head, tick, bucket, deadline);
+	}
+
+	/**
+	 * Runs, defers or keeps the tasks of the given list.
+	 * @param bucket The bucket of the list, tasks due in a later rotation are put back into it.
+	 * @param deadline The {@link System#nanoTime()} after which due tasks are deferred, or 0 if there is no budget.
+	 */
+	private static void process(@Nullable Handle head, long tick, int bucket, long deadline) {
+		while (head != null) {
+			Handle handle = head;
+			head = head.next;
+			handle.next = null;
+
+			if (handle.cancelled) {
+				pending.decrementAndGet();
+			} else if (handle.due > tick) { // due in a later rotation
+				append(bucket, handle);
+			} else if (deadline != 0 && ranInTick && isOverBudget(deadline)) {
+				defer(handle);
+			} else {
+				run(handle);
+				ranInTick = true;
+				if (handle.period == 0 || handle.cancelled) {
+					pending.decrementAndGet();
+				} else {
+					handle.due = tick + handle.period;
+					add(handle, tick);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return Whether the budget of this tick has been used up.
+	 */
+	private static boolean isOverBudget(long deadline) {
+		return System.nanoTime() - deadline >= 0;
+	}
+
+	private static void defer(Handle handle) {
+		Handle tail = deferredTail;
+		if (tail == null) {
+			deferredHead = handle;
+		} else {
+			tail.next = handle;
+		}
+		deferredTail = handle;
+		deferredCount++;
+		deferred.increment();
+	}
+
+	private static void run(Handle handle) {
+		executed.increment();
+		try {
+			handle.task.run();
+		} catch (Throwable t) {
+			//noinspection ThrowableNotThrown
+			Skript.exception(t, "An error occurred while running a delayed task.");
+		}
+	}
+
+	private static void add(Handle handle, long tick) {
+		// a task scheduled while the tick was advancing is due right away
+		if (handle.due < tick)
+			handle.due = tick;
+		append((int) (handle.due & MASK), handle);
+	}
+
+	private static void append(int bucket, Handle handle) {
+		Handle tail = tails[bucket];
+		if (tail == null) {
+			heads[bucket] = handle;
+		} else {
+			tail.next = handle;
+		}
+		tails[bucket] = handle;
+	}
+
+	/**
+	 * A task scheduled in the wheel.
+	 */
+	public static final class Handle {
+
+		private final Runnable task;
+		private final long period;
+		private long due;
+		private volatile boolean cancelled;
+
+		@Nullable
+		private Handle next;
+
+		private Handle(Runnable task, long due, long period) {
+			this.task = task;
+			this.due = due;
+			this.period = period;
+		}
+
+		/**
+		 * Stops the task from running again. The task is removed from the wheel on the tick it would have run.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+	}
+
+}
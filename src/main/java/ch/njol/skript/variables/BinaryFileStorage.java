@@ -0,0 +1,710 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.ExceptionUtils;
+import ch.njol.skript.util.FileUtils;
+import ch.njol.skript.util.Task;
+import ch.njol.skript.util.Timespan;
+import ch.njol.skript.variables.SerializedVariable.Value;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * A variable storage that appends every change as a binary record to a log file,
+ * and periodically compacts the log in the background.
+ * <p>
+ * The storage consists of up to three files:
+ * <ul>
+ *     <li>The configured file, holding the last compacted state of all variables.</li>
+ *     <li>The log ({@code <file>.log}), to which changes are appended.</li>
+ *     <li>The compacting log ({@code <file>.compacting}), a log which is currently being merged into the configured file.</li>
+ * </ul>
+ * All files are read in this order when loading, and later records override earlier ones.
+ * Compaction only reads and writes these files, so variables don't have to be locked or serialized for it.
+ * <p>
+ * Each record consists of the length of its payload, the payload and a CRC32 checksum of the payload.
+ * The payload is either {@link #RECORD_DELETE} followed by the variable name,
+ * or {@link #RECORD_SET} followed by the variable name, the type and the serialized value.
+ * <p>
+ * An existing CSV file of a {@link FlatFileStorage} can be imported
+ * by setting the {@code import csv} entry of the database to its path.
+ */
+public class BinaryFileStorage extends VariablesStorage {
+
+	/**
+	 * The magic number at the start of each file ({@code SKVB}).
+	 */
+	private static final int MAGIC = 0x534B5642;
+
+	/**
+	 * The version of the file format.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	static final byte RECORD_DELETE = 0, RECORD_SET = 1;
+
+	/**
+	 * The maximum accepted length of a record's payload,
+	 * larger lengths are treated as corruption.
+	 */
+	private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+	/**
+	 * The delay and period for the compaction check task, in ticks.
+	 */
+	private static final long COMPACTION_TASK_PERIOD = 5 * 60 * 20;
+
+	/**
+	 * The minimum amount of records appended to the log before it is compacted.
+	 */
+	private static final int REQUIRED_CHANGES_FOR_COMPACTION = 1000;
+
+	/**
+	 * The output stream of the log, must be locked with {@link #connectionLock}.
+	 */
+	@Nullable
+	private DataOutputStream logOutput;
+
+	/**
+	 * A reusable buffer for the payload of written records, must be locked with {@link #connectionLock}.
+	 */
+	private final ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream();
+	private final DataOutputStream payloadOutput = new DataOutputStream(payloadBuffer);
+	private final CRC32 checksum = new CRC32();
+
+	/**
+	 * The amount of records appended to the log since the last compaction.
+	 */
+	private final AtomicInteger changes = new AtomicInteger();
+
+	/**
+	 * The amount of variables after the last load or compaction.
+	 */
+	private volatile int liveVariables;
+
+	/**
+	 * Whether a compaction is currently running.
+	 */
+	private final AtomicBoolean compacting = new AtomicBoolean();
+
+	@Nullable
+	private Task compactionTask;
+
+	BinaryFileStorage(String name) {
+		super(name);
+	}
+
+	private File getLogFile() {
+		assert file != null;
+		return new File(file.getParentFile(), file.getName() + ".log");
+	}
+
+	private File getCompactingFile() {
+		assert file != null;
+		return new File(file.getParentFile(), file.getName() + ".compacting");
+	}
+
+	@Override
+	protected boolean load_i(SectionNode sectionNode) {
+		SkriptLogger.setNode(null);
+
+		File file = this.file;
+		if (file == null) {
+			assert false : this;
+			return false;
+		}
+
+		Map<String, Value> records = new LinkedHashMap<>();
+		boolean successful = true;
+		try {
+			// The configured file is created empty by VariablesStorage#load
+			if (file.length() == 0) {
+				writeHeaderIfEmpty(file);
+				String csv = sectionNode.getValue("import csv");
+				if (csv != null && !getLogFile().exists())
+					importCSV(new File(csv), file);
+			}
+
+			readRecords(file, records, false);
+			File compactingFile = getCompactingFile();
+			if (compactingFile.exists())
+				readRecords(compactingFile, records, true);
+			File logFile = getLogFile();
+			if (logFile.exists())
+				readRecords(logFile, records, true);
+		} catch (IOException e) {
+			Skript.error("An I/O error occurred while loading the variables of the database '" + databaseName + "': " + ExceptionUtils.toString(e));
+			Skript.error("This means that some to all variables could not be loaded!");
+			try {
+				File backup = FileUtils.backup(file);
+				Skript.info("Created a backup of " + file.getName() + " as " + backup.getName());
+			} catch (IOException ex) {
+				Skript.error("Could not backup " + file.getName() + ": " + ex.getMessage());
+			}
+			successful = false;
+		}
+
+		int[] unsuccessfulVariableCount = new int[1];
+		VariableLoader loader = new VariableLoader(this, true, (name, type) -> {
+			Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because it cannot be loaded as a " + type);
+			unsuccessfulVariableCount[0]++;
+		});
+		try {
+			for (Entry<String, Value> record : records.entrySet()) {
+				Value value = record.getValue();
+				if (value != null)
+					loader.load(record.getKey(), value.type, value.data);
+			}
+		} finally {
+			loader.finish();
+		}
+		if (unsuccessfulVariableCount[0] > 0)
+			Skript.error(unsuccessfulVariableCount[0] + " variable" + (unsuccessfulVariableCount[0] == 1 ? "" : "s") + " could not be loaded!");
+		liveVariables = (int) records.values().stream().filter(value -> value != null).count();
+
+		if (!connect())
+			return false;
+
+		compactionTask = new Task(Skript.getInstance(), COMPACTION_TASK_PERIOD, COMPACTION_TASK_PERIOD, true) {
+			@Override
+			public void run() {
+				if (changes.get() >= Math.max(REQUIRED_CHANGES_FOR_COMPACTION, liveVariables))
+					startCompaction();
+			}
+		};
+
+		return successful;
+	}
+
+	@Override
+	protected void allLoaded() {
+		// no transaction support
+	}
+
+	@Override
+	protected boolean requiresFile() {
+		return true;
+	}
+
+	@Override
+	protected File getFile(String fileName) {
+		return new File(fileName);
+	}
+
+	@Override
+	protected boolean connect() {
+		synchronized (connectionLock) {
+			if (logOutput != null)
+				return true;
+			try {
+				File logFile = getLogFile();
+				writeHeaderIfEmpty(logFile);
+				logOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, true)));
+				return true;
+			} catch (IOException e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e, "Cannot open the variable log of the database '" + databaseName + "'");
+				return false;
+			}
+		}
+	}
+
+	@Override
+	protected void disconnect() {
+		synchronized (connectionLock) {
+			DataOutputStream logOutput = this.logOutput;
+			if (logOutput == null)
+				return;
+			try {
+				logOutput.close();
+			} catch (IOException e) {
+				Skript.error("Cannot close the variable log of the database '" + databaseName + "': " + ExceptionUtils.toString(e));
+			}
+			this.logOutput = null;
+		}
+	}
+
+	/**
+	 * Starts the backup task, with the given backup interval.
+	 * <p>
+	 * The configured file only holds the state of the last compaction,
+	 * so the log and the compacting log are backed up together with it.
+	 *
+	 * @param backupInterval the backup interval.
+	 */
+	@Override
+	public void startBackupTask(Timespan backupInterval) {
+		File file = this.file;
+		if (file == null || backupInterval.getTicks() == 0)
+			return;
+
+		backupTask = new Task(Skript.getInstance(), backupInterval.getTicks(), backupInterval.getTicks(), true) {
+			@Override
+			public void run() {
+				// Holding the lock keeps records from being appended, and the logs from being rolled or compacted
+				synchronized (connectionLock) {
+					try {
+						DataOutputStream logOutput = BinaryFileStorage.this.logOutput;
+						if (logOutput != null)
+							logOutput.flush();
+						backup(file, getCompactingFile(), getLogFile());
+					} catch (IOException e) {
+						Skript.error("Automatic variables backup failed: " + e.getLocalizedMessage());
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Copies the given files to the backups folder next to them, all with the same backup suffix.
+	 * Files that don't exist are skipped.
+	 */
+	private static void backup(File... files) throws IOException {
+		String suffix = FileUtils.getBackupSuffix();
+		File backupFolder = new File(files[0].getParentFile(), "backups" + File.separator);
+		if (!backupFolder.exists() && !backupFolder.mkdirs())
+			throw new IOException("Cannot create backups folder");
+		for (File file : files) {
+			if (!file.exists())
+				continue;
+			String name = file.getName();
+			int dot = name.lastIndexOf('.');
+			File backup = new File(backupFolder, dot == -1 ? name + "_" + suffix : name.substring(0, dot) + "_" + suffix + name.substring(dot));
+			if (backup.exists())
+				throw new IOException("Backup file " + backup.getName() + " does already exist");
+			FileUtils.copy(file, backup);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (compactionTask != null)
+			compactionTask.cancel();
+		if (backupTask != null)
+			backupTask.cancel();
+		super.close();
+		disconnect();
+
+		// Wait for a running compaction, then compact everything that is left
+		while (compacting.get()) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException ignored) {}
+		}
+		if (changes.get() > 0 && rollLog())
+			compact();
+	}
+
+	@Override
+	protected boolean save(String name, @Nullable String type, @Nullable byte[] value) {
+		synchronized (connectionLock) {
+			try {
+				appendRecord(name, type, value);
+				DataOutputStream logOutput = this.logOutput;
+				if (logOutput != null)
+					logOutput.flush();
+			} catch (IOException e) {
+				Skript.error("Cannot save the variable {" + name + "} to the database '" + databaseName + "': " + ExceptionUtils.toString(e));
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Appends all changes to the log, flushing it only once.
+	 */
+	@Override
+	protected boolean saveBatch(List<SerializedVariable> variables) {
+		synchronized (connectionLock) {
+			try {
+				for (SerializedVariable variable : variables) {
+					Value value = variable.value;
+					appendRecord(variable.name, value == null ? null : value.type, value == null ? null : value.data);
+				}
+				DataOutputStream logOutput = this.logOutput;
+				if (logOutput != null)
+					logOutput.flush();
+			} catch (IOException e) {
+				Skript.error("Cannot save variables to the database '" + databaseName + "': " + ExceptionUtils.toString(e));
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Appends a record to the log, without flushing it.
+	 * Must be called while holding {@link #connectionLock}.
+	 */
+	private void appendRecord(String name, @Nullable String type, @Nullable byte[] value) throws IOException {
+		DataOutputStream logOutput;
+		while ((logOutput = this.logOutput) == null) {
+			// the log is being rolled over or backed up
+			try {
+				connectionLock.wait(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for the variable log", e);
+			}
+			if (closed)
+				throw new IOException("The database is closed");
+		}
+
+		payloadBuffer.reset();
+		writePayload(payloadOutput, name, type, value);
+		writeRecord(logOutput, payloadBuffer.toByteArray(), checksum);
+		changes.incrementAndGet();
+	}
+
+	private static void writePayload(DataOutputStream output, String name, @Nullable String type, @Nullable byte[] value) throws IOException {
+		if (type == null || value == null) {
+			output.writeByte(RECORD_DELETE);
+			writeString(output, name);
+		} else {
+			output.writeByte(RECORD_SET);
+			writeString(output, name);
+			writeString(output, type);
+			output.writeInt(value.length);
+			output.write(value);
+		}
+	}
+
+	private static void writeRecord(DataOutputStream output, byte[] payload, CRC32 checksum) throws IOException {
+		checksum.reset();
+		checksum.update(payload, 0, payload.length);
+		output.writeInt(payload.length);
+		output.write(payload);
+		output.writeInt((int) checksum.getValue());
+	}
+
+	private static void writeString(DataOutputStream output, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeHeaderIfEmpty(File file) throws IOException {
+		if (file.exists() && file.length() > 0)
+			return;
+		try (DataOutputStream output = new DataOutputStream(new FileOutputStream(file))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+		}
+	}
+
+	/**
+	 * Reads all records of the given file into the given map, in order.
+	 * Deleted variables are mapped to {@code null}.
+	 *
+	 * @param file the file to read.
+	 * @param records the map to put the records in.
+	 * @param truncateCorruptTail whether a corrupt or incomplete record at the end of the file
+	 *                               should be removed, instead of failing.
+	 *                               This happens if the server crashed while writing the log.
+	 */
+	private void readRecords(File file, Map<String, Value> records, boolean truncateCorruptTail) throws IOException {
+		long validLength;
+		String corruption = null;
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != MAGIC)
+				throw new IOException(file.getName() + " is not a variable file");
+			int version = input.readInt();
+			if (version != FORMAT_VERSION)
+				throw new IOException(file.getName() + " has an unsupported format version (" + version + ")");
+			validLength = 8;
+
+			CRC32 checksum = new CRC32();
+			while (true) {
+				int length;
+				try {
+					length = input.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				if (length <= 0 || length > MAX_RECORD_LENGTH) {
+					corruption = "invalid record length " + length;
+					break;
+				}
+
+				byte[] payload = new byte[length];
+				int expectedChecksum;
+				try {
+					input.readFully(payload);
+					expectedChecksum = input.readInt();
+				} catch (EOFException e) {
+					corruption = "incomplete record";
+					break;
+				}
+				checksum.reset();
+				checksum.update(payload, 0, length);
+				if ((int) checksum.getValue() != expectedChecksum) {
+					corruption = "checksum mismatch";
+					break;
+				}
+
+				readPayload(new DataInputStream(new ByteArrayInputStream(payload)), records);
+				validLength += 4 + length + 4;
+			}
+		}
+
+		if (corruption == null)
+			return;
+		if (!truncateCorruptTail)
+			throw new IOException(file.getName() + " is corrupt at byte " + validLength + " (" + corruption + ")");
+
+		Skript.warning("The variable log " + file.getName() + " of the database '" + databaseName + "' ends with a corrupt record (" +
+			corruption + "), probably because the server crashed. The corrupt part will be removed.");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+			randomAccessFile.setLength(validLength);
+		}
+	}
+
+	private static void readPayload(DataInputStream payload, Map<String, Value> records) throws IOException {
+		byte recordType = payload.readByte();
+		String name = readString(payload);
+		if (recordType == RECORD_DELETE) {
+			records.put(name, null);
+		} else if (recordType == RECORD_SET) {
+			String type = readString(payload);
+			byte[] data = new byte[payload.readInt()];
+			payload.readFully(data);
+			records.put(name, new Value(type, data));
+		} else {
+			throw new IOException("Unknown record type " + recordType);
+		}
+	}
+
+	/**
+	 * Starts a compaction in a new thread, unless one is already running.
+	 */
+	private void startCompaction() {
+		if (!compacting.compareAndSet(false, true))
+			return;
+		if (!rollLog()) {
+			compacting.set(false);
+			return;
+		}
+		Skript.newThread(() -> {
+			try {
+				compact();
+			} finally {
+				compacting.set(false);
+			}
+		}, "Skript variable compaction thread for database '" + databaseName + "'").start();
+	}
+
+	/**
+	 * Renames the log to the compacting log, and starts a new log.
+	 * If the compacting log still exists from an interrupted compaction, the log is appended to it.
+	 *
+	 * @return whether there is a compacting log to compact.
+	 */
+	private boolean rollLog() {
+		synchronized (connectionLock) {
+			boolean wasConnected = logOutput != null;
+			disconnect();
+			try {
+				File logFile = getLogFile();
+				File compactingFile = getCompactingFile();
+				if (!logFile.exists())
+					return compactingFile.exists();
+				if (compactingFile.exists()) {
+					// Both logs are merged into a copy, so a crash can't leave a partial record in the compacting log
+					File tempFile = new File(compactingFile.getParentFile(), compactingFile.getName() + ".temp");
+					try (FileOutputStream output = new FileOutputStream(tempFile)) {
+						Files.copy(compactingFile.toPath(), output);
+						appendRecords(logFile, output);
+						output.flush();
+						output.getFD().sync();
+					}
+					FileUtils.move(tempFile, compactingFile, true);
+					Files.delete(logFile.toPath());
+				} else {
+					FileUtils.move(logFile, compactingFile, false);
+				}
+				changes.set(0);
+				return true;
+			} catch (IOException e) {
+				Skript.error("Cannot start the compaction of the database '" + databaseName + "': " + ExceptionUtils.toString(e));
+				return false;
+			} finally {
+				if (wasConnected)
+					connect();
+			}
+		}
+	}
+
+	/**
+	 * Writes the records of the given file, without its header, to the given stream.
+	 */
+	private static void appendRecords(File from, OutputStream output) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(from.toPath())))) {
+			input.skipBytes(8); // header
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1)
+				output.write(buffer, 0, read);
+		}
+	}
+
+	/**
+	 * Merges the compacting log into the configured file.
+	 * Only the last record of each variable is kept, and deleted variables are dropped.
+	 */
+	private void compact() {
+		File file = this.file;
+		assert file != null;
+		File compactingFile = getCompactingFile();
+		File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
+
+		long start = System.currentTimeMillis();
+		try {
+			Map<String, Value> records = new LinkedHashMap<>();
+			readRecords(file, records, false);
+			readRecords(compactingFile, records, true);
+
+			int written = 0;
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DataOutputStream payload = new DataOutputStream(buffer);
+			CRC32 checksum = new CRC32();
+			try (FileOutputStream fileOutput = new FileOutputStream(tempFile);
+				 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				for (Entry<String, Value> record : records.entrySet()) {
+					Value value = record.getValue();
+					if (value == null)
+						continue;
+					buffer.reset();
+					writePayload(payload, record.getKey(), value.type, value.data);
+					writeRecord(output, buffer.toByteArray(), checksum);
+					written++;
+				}
+				output.flush();
+				fileOutput.getFD().sync();
+			}
+
+			// The compacting log may only be deleted once its content is safely in the file
+			synchronized (connectionLock) {
+				FileUtils.move(tempFile, file, true);
+				Files.delete(compactingFile.toPath());
+			}
+			liveVariables = written;
+
+			if (Skript.logHigh())
+				Skript.info("Compacted the database '" + databaseName + "' to " + written + " variables in " + (System.currentTimeMillis() - start) + " ms");
+		} catch (IOException e) {
+			Skript.error("Cannot compact the database '" + databaseName + "' (no variables are lost): " + ExceptionUtils.toString(e));
+		}
+	}
+
+	/**
+	 * Converts the given CSV file of a {@link FlatFileStorage} to records in the given file.
+	 * Values are copied in their serialized form, without deserializing them.
+	 */
+	private void importCSV(File csv, File file) throws IOException {
+		if (!csv.isFile()) {
+			Skript.error("The CSV file '" + csv.getPath() + "' to import into the database '" + databaseName + "' does not exist");
+			return;
+		}
+
+		Map<String, Value> records = new LinkedHashMap<>();
+		int lineNum = 0;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(csv.toPath()), FlatFileStorage.FILE_CHARSET))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNum++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#"))
+					continue;
+
+				String[] split = FlatFileStorage.splitCSV(line);
+				if (split == null || split.length != 3) {
+					Skript.error("invalid amount of commas in line " + lineNum + " of " + csv.getName() + " ('" + line + "')");
+					continue;
+				}
+				if (split[1].equals("null")) {
+					records.put(split[0], null);
+					continue;
+				}
+				ClassInfo<?> classInfo = Classes.getClassInfoNoError(split[1]);
+				if (classInfo == null || classInfo.getSerializer() == null) {
+					Skript.error("Cannot import the variable {" + split[0] + "}, because the type '" + split[1] + "' cannot be recognised or cannot be stored in variables");
+					continue;
+				}
+				records.put(split[0], new Value(split[1], FlatFileStorage.decode(split[2])));
+			}
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream payload = new DataOutputStream(buffer);
+		CRC32 checksum = new CRC32();
+		int imported = 0;
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+			for (Entry<String, Value> record : records.entrySet()) {
+				Value value = record.getValue();
+				if (value == null)
+					continue;
+				buffer.reset();
+				writePayload(payload, record.getKey(), value.type, value.data);
+				writeRecord(output, buffer.toByteArray(), checksum);
+				imported++;
+			}
+		}
+		Skript.info("Imported " + imported + " variables from " + csv.getName() + " into the database '" + databaseName + "'");
+	}
+
+}
@@ -152,6 +152,16 @@ public class FlatFileStorage extends VariablesStorage {
 		IOException ioException = null;
 		int unsuccessfulVariableCount = 0;
 		StringBuilder invalid = new StringBuilder();
+		int[] undeserializableVariableCount = new int[1];
+
+		VariableLoader loader = new VariableLoader(this, true, (name, type) -> {
+			// Couldn't deserialize variable
+			if (invalid.length() != 0)
+				invalid.append(", ");
+
+			invalid.append(name);
+			undeserializableVariableCount[0]++;
+		});
 
 		// The Skript version this CSV was created with
 		Version csvSkriptVersion;
@@ -201,15 +211,12 @@ public class FlatFileStorage extends VariablesStorage {
 				}
 
 				if (split[1].equals("null")) {
-					Variables.variableLoaded(split[0], null, this);
+					loader.load(split[0], null, null);
+				} else if (!update2_1) {
+					loader.load(split[0], split[1], decode(split[2]));
 				} else {
-					Object deserializedValue;
-					if (update2_1) {
-						// Use old deserialization if variables come from old Skript version
-						deserializedValue = Classes.deserialize(split[1], split[2]);
-					} else {
-						deserializedValue = Classes.deserialize(split[1], decode(split[2]));
-					}
+					// Use old deserialization if variables come from old Skript version
+					Object deserializedValue = Classes.deserialize(split[1], split[2]);
 
 					if (deserializedValue == null) {
 						// Couldn't deserialize variable
@@ -226,13 +233,16 @@ public class FlatFileStorage extends VariablesStorage {
 						deserializedValue = Utils.replaceChatStyles((String) deserializedValue);
 					}
 
-					Variables.variableLoaded(split[0], deserializedValue, this);
+					loader.loadDeserialized(split[0], deserializedValue);
 				}
 			}
 		} catch (IOException e) {
 			loadError = true;
 			ioException = e;
+		} finally {
+			loader.finish();
 		}
+		unsuccessfulVariableCount += undeserializableVariableCount[0];
 
 		if (ioException != null || unsuccessfulVariableCount > 0 || update2_1) {
 			// Something's wrong (or just an old version)
@@ -452,14 +462,8 @@ public class FlatFileStorage extends VariablesStorage {
 			}
 		} finally {
 			Variables.getReadLock().unlock();
-			boolean gotWriteLock = Variables.variablesLock.writeLock().tryLock();
-			if (gotWriteLock) { // Only process queue now if it doesn't require us to wait
-				try {
-					Variables.processChangeQueue();
-				} finally {
-					Variables.variablesLock.writeLock().unlock();
-				}
-			}
+			// Only process queues now if it doesn't require us to wait
+			Variables.processChangeQueues(false);
 		}
 	}
 
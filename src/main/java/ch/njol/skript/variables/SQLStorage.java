@@ -22,6 +22,9 @@ import java.io.File;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.Callable;
@@ -192,7 +195,7 @@ public abstract class SQLStorage extends VariablesStorage {
 				final ResultSet r2 = db.query("SELECT " + SELECT_ORDER + " FROM " + getTableName());
 				assert r2 != null;
 				try {
-					loadVariables(r2);
+					loadVariables(r2, true);
 				} finally {
 					r2.close();
 				}
@@ -447,43 +450,128 @@ public abstract class SQLStorage extends VariablesStorage {
 	@Nullable
 	PreparedStatement monitorCleanUpQuery;
 
+	/**
+	 * Prints errors if the given variable exceeds the limits of the database.
+	 */
+	private static void checkLimits(final String name, final @Nullable byte[] value) {
+		// REMIND get the actual maximum size from the database
+		if (name.length() > MAX_VARIABLE_NAME_LENGTH)
+			Skript.error("The name of the variable {" + name + "} is too long to be saved in a database (length: " + name.length() + ", maximum allowed: " + MAX_VARIABLE_NAME_LENGTH + ")! It will be truncated and won't bet available under the same name again when loaded.");
+		if (value != null && value.length > MAX_VALUE_SIZE)
+			Skript.error("The variable {" + name + "} cannot be saved in the database as its value's size (" + value.length + ") exceeds the maximum allowed size of " + MAX_VALUE_SIZE + "! An attempt to save the variable will be made nonetheless.");
+	}
+
 	@Override
 	protected boolean save(final String name, final @Nullable String type, final @Nullable byte[] value) {
 		synchronized (db) {
-			// REMIND get the actual maximum size from the database
-			if (name.length() > MAX_VARIABLE_NAME_LENGTH)
-				Skript.error("The name of the variable {" + name + "} is too long to be saved in a database (length: " + name.length() + ", maximum allowed: " + MAX_VARIABLE_NAME_LENGTH + ")! It will be truncated and won't bet available under the same name again when loaded.");
-			if (value != null && value.length > MAX_VALUE_SIZE)
-				Skript.error("The variable {" + name + "} cannot be saved in the database as its value's size (" + value.length + ") exceeds the maximum allowed size of " + MAX_VALUE_SIZE + "! An attempt to save the variable will be made nonetheless.");
+			checkLimits(name, value);
+			return write(name, type, value);
+		}
+	}
+
+	/**
+	 * Writes or deletes a single variable, without committing the change. Must be called while holding the lock of {@link #db}.
+	 */
+	private boolean write(final String name, final @Nullable String type, final @Nullable byte[] value) {
+		try {
+			if (type == null) {
+				assert value == null;
+				final PreparedStatement deleteQuery = this.deleteQuery;
+				assert deleteQuery != null;
+				deleteQuery.setString(1, name);
+				deleteQuery.executeUpdate();
+			} else {
+				int i = 1;
+				final PreparedStatement writeQuery = this.writeQuery;
+				assert writeQuery != null;
+				writeQuery.setString(i++, name);
+				writeQuery.setString(i++, type);
+				writeQuery.setBytes(i++, value); // SQLite desn't support setBlob
+				writeQuery.setString(i++, guid);
+				writeQuery.executeUpdate();
+			}
+		} catch (final SQLException e) {
+			sqlException(e);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the given changes using JDBC batches, and commits them in one transaction.
+	 * Only the last change of each variable is written.
+	 * If the batch fails, it is rolled back and the changes are written one by one,
+	 * so that a change the database rejects doesn't prevent the other changes from being saved.
+	 */
+	@Override
+	protected boolean saveBatch(final List<SerializedVariable> variables) {
+		final Map<String, SerializedVariable> changes = new LinkedHashMap<>();
+		for (final SerializedVariable variable : variables)
+			changes.put(variable.name, variable);
+
+		synchronized (db) {
+			final Database db = this.db.get();
+			final PreparedStatement writeQuery = this.writeQuery;
+			final PreparedStatement deleteQuery = this.deleteQuery;
+			if (db == null || writeQuery == null || deleteQuery == null)
+				return false;
 			try {
-				if (type == null) {
-					assert value == null;
-					final PreparedStatement deleteQuery = this.deleteQuery;
-					assert deleteQuery != null;
-					deleteQuery.setString(1, name);
-					deleteQuery.executeUpdate();
-				} else {
-					int i = 1;
-					final PreparedStatement writeQuery = this.writeQuery;
-					assert writeQuery != null;
-					writeQuery.setString(i++, name);
-					writeQuery.setString(i++, type);
-					writeQuery.setBytes(i++, value); // SQLite desn't support setBlob
-					writeQuery.setString(i++, guid);
-					writeQuery.executeUpdate();
+				int writes = 0, deletes = 0;
+				for (final SerializedVariable variable : changes.values()) {
+					final SerializedVariable.Value value = variable.value;
+					checkLimits(variable.name, value == null ? null : value.data);
+					if (value == null) {
+						deleteQuery.setString(1, variable.name);
+						deleteQuery.addBatch();
+						deletes++;
+					} else {
+						int i = 1;
+						writeQuery.setString(i++, variable.name);
+						writeQuery.setString(i++, value.type);
+						writeQuery.setBytes(i++, value.data); // SQLite desn't support setBlob
+						writeQuery.setString(i++, guid);
+						writeQuery.addBatch();
+						writes++;
+					}
 				}
+				if (writes > 0)
+					writeQuery.executeBatch();
+				if (deletes > 0)
+					deleteQuery.executeBatch();
+				db.getConnection().commit();
+				return true;
+			} catch (final SQLException e) {
+				// discard pending statements and partially applied ones before retrying
+				try {
+					writeQuery.clearBatch();
+					deleteQuery.clearBatch();
+					db.getConnection().rollback();
+				} catch (final SQLException ex) {
+					sqlException(ex);
+					return false;
+				}
+			}
+
+			boolean saved = true;
+			for (final SerializedVariable variable : changes.values()) {
+				final SerializedVariable.Value value = variable.value;
+				saved &= value == null ? write(variable.name, null, null) : write(variable.name, value.type, value.data);
+			}
+			try {
+				db.getConnection().commit();
 			} catch (final SQLException e) {
 				sqlException(e);
 				return false;
 			}
+			return saved;
 		}
-		return true;
 	}
 
 	@Override
 	public void close() {
+		// wait for the write thread outside of the lock, as it needs the lock to write the remaining changes
+		super.close();
 		synchronized (db) {
-			super.close();
 			final Database db = this.db.get();
 			if (db != null) {
 				try {
@@ -517,7 +605,7 @@ public abstract class SQLStorage extends VariablesStorage {
 					assert r != null;
 				}
 				if (!closed)
-					loadVariables(r);
+					loadVariables(r, false);
 			} finally {
 				if (r != null)
 					r.close();
@@ -563,8 +651,10 @@ public abstract class SQLStorage extends VariablesStorage {
 
 	/**
 	 * Doesn't lock the database - {@link #save(String, String, byte[])} does that // what?
+	 *
+	 * @param parallel whether the variables may be deserialized by multiple threads, see {@link VariableLoader}.
 	 */
-	private void loadVariables(final ResultSet r) throws SQLException {
+	private void loadVariables(final ResultSet r, boolean parallel) throws SQLException {
 //		assert !Thread.holdsLock(db);
 //		synchronized (syncDeserializing) {
 
@@ -574,6 +664,14 @@ public abstract class SQLStorage extends VariablesStorage {
 				@Override
 				@Nullable
 				public SQLException call() throws Exception {
+					VariableLoader loader = new VariableLoader(SQLStorage.this, parallel, (name, type) -> {
+						ClassInfo<?> c = Classes.getClassInfoNoError(type);
+						if (c == null || c.getSerializer() == null) {
+							Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because the type '" + type + "' cannot be recognised or cannot be stored in variables");
+						} else {
+							Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because it cannot be loaded as " + c.getName().withIndefiniteArticle());
+						}
+					});
 					try {
 						while (r.next()) {
 							int i = 1;
@@ -586,29 +684,17 @@ public abstract class SQLStorage extends VariablesStorage {
 							final byte[] value = r.getBytes(i++); // Blob not supported by SQLite
 							lastRowID = r.getLong(i++);
 							if (value == null) {
-								Variables.variableLoaded(name, null, SQLStorage.this);
+								loader.load(name, null, null);
+							} else if (type == null) {
+								Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because the type 'null' cannot be recognised or cannot be stored in variables");
 							} else {
-								final ClassInfo<?> c = Classes.getClassInfoNoError(type);
-								@SuppressWarnings("unused")
-								Serializer<?> s;
-								if (c == null || (s = c.getSerializer()) == null) {
-									Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because the type '" + type + "' cannot be recognised or cannot be stored in variables");
-									continue;
-								}
-//					if (s.mustSyncDeserialization()) {
-//						syncDeserializing.add(new VariableInfo(name, value, c));
-//					} else {
-								final Object d = Classes.deserialize(c, value);
-								if (d == null) {
-									Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because it cannot be loaded as " + c.getName().withIndefiniteArticle());
-									continue;
-								}
-								Variables.variableLoaded(name, d, SQLStorage.this);
-//					}
+								loader.load(name, type, value);
 							}
 						}
 					} catch (final SQLException e) {
 						return e;
+					} finally {
+						loader.finish();
 					}
 					return null;
 				}
@@ -0,0 +1,264 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.variables.Variables.VariableChange;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * A store for global variables that is split into several {@link Stripe stripes},
+ * each guarded by its own lock.
+ * <p>
+ * Variables are assigned to a stripe by the first part of their name
+ * (everything before the first {@link Variable#SEPARATOR}), so a whole variable tree,
+ * e.g. {@code {stats::*}}, always resides in a single stripe.
+ * This allows readers and writers of different variable trees to proceed in parallel.
+ */
+final class StripedVariablesMap {
+
+	/**
+	 * The amount of stripes, must be a power of two.
+	 */
+	static final int STRIPE_COUNT = 16;
+
+	/**
+	 * One part of the global variables, with its own lock and change queue.
+	 */
+	static final class Stripe {
+
+		/**
+		 * The variables of this stripe, must be locked with {@link #lock}.
+		 */
+		final VariablesMap map = new VariablesMap();
+
+		/**
+		 * The lock for reading and writing {@link #map}.
+		 */
+		final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+		/**
+		 * Changes to variables of this stripe that have not yet been performed,
+		 * as the write lock could not be acquired without blocking.
+		 */
+		final Queue<VariableChange> changeQueue = new ConcurrentLinkedQueue<>();
+
+	}
+
+	private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+	/**
+	 * The most recent queued change per variable name,
+	 * so pending changes can be read without scanning the change queues.
+	 */
+	final Map<String, VariableChange> pendingChanges = new ConcurrentHashMap<>();
+
+	private final Lock readLock = new MultiLock(stripe -> stripe.lock.readLock());
+	private final Lock writeLock = new MultiLock(stripe -> stripe.lock.writeLock());
+
+	StripedVariablesMap() {
+		for (int i = 0; i < STRIPE_COUNT; i++)
+			stripes[i] = new Stripe();
+	}
+
+	/**
+	 * @param name the variable name.
+	 * @return the stripe containing the variable with the given name.
+	 */
+	Stripe getStripe(String name) {
+		// hash only the first part of the name to keep variable trees together
+		int hash = 0;
+		int length = name.length();
+		for (int i = 0; i < length; i++) {
+			char c = name.charAt(i);
+			if (c == ':' && i + 1 < length && name.charAt(i + 1) == ':')
+				break;
+			hash = 31 * hash + c;
+		}
+		hash ^= hash >>> 16;
+		return stripes[hash & (STRIPE_COUNT - 1)];
+	}
+
+	/**
+	 * @return all stripes, in lock order.
+	 */
+	Stripe[] getStripes() {
+		return stripes;
+	}
+
+	/**
+	 * @return a lock acquiring the read locks of all stripes in order, without support for conditions.
+	 */
+	Lock readLock() {
+		return readLock;
+	}
+
+	/**
+	 * @return a lock acquiring the write locks of all stripes in order, without support for conditions.
+	 */
+	Lock writeLock() {
+		return writeLock;
+	}
+
+	/**
+	 * Creates a sorted view of the top level of all stripes' tree maps.
+	 * The subtrees are not copied.
+	 * <p>
+	 * Remember to lock with {@link #readLock()} while using the returned map!
+	 *
+	 * @return the merged tree of all variables.
+	 */
+	TreeMap<String, Object> mergedTreeMap() {
+		TreeMap<String, Object> merged = new TreeMap<>();
+		for (Stripe stripe : stripes)
+			merged.putAll(stripe.map.treeMap);
+		return merged;
+	}
+
+	/**
+	 * Creates a map of all non-list variables of all stripes.
+	 * <p>
+	 * Remember to lock with {@link #readLock()} while creating the map!
+	 *
+	 * @return the merged map of all variables.
+	 */
+	Map<String, Object> mergedHashMap() {
+		int size = 0;
+		for (Stripe stripe : stripes)
+			size += stripe.map.hashMap.size();
+
+		Map<String, Object> merged = new HashMap<>((int) (size / 0.75f) + 1);
+		for (Stripe stripe : stripes)
+			merged.putAll(stripe.map.hashMap);
+		return merged;
+	}
+
+	/**
+	 * @return whether no stripe contains any variable.
+	 */
+	boolean isEmpty() {
+		for (Stripe stripe : stripes) {
+			if (!stripe.map.hashMap.isEmpty() || !stripe.map.treeMap.isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * A {@link Lock} that acquires one lock per stripe, always in the same order.
+	 * It doesn't support {@link #newCondition() conditions}.
+	 */
+	private final class MultiLock implements Lock {
+
+		private final Function<Stripe, Lock> lockGetter;
+
+		MultiLock(Function<Stripe, Lock> lockGetter) {
+			this.lockGetter = lockGetter;
+		}
+
+		@Override
+		public void lock() {
+			for (Stripe stripe : stripes)
+				lockGetter.apply(stripe).lock();
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			int locked = 0;
+			try {
+				for (Stripe stripe : stripes) {
+					lockGetter.apply(stripe).lockInterruptibly();
+					locked++;
+				}
+			} catch (InterruptedException e) {
+				unlock(locked);
+				throw e;
+			}
+		}
+
+		@Override
+		public boolean tryLock() {
+			int locked = 0;
+			for (Stripe stripe : stripes) {
+				if (!lockGetter.apply(stripe).tryLock()) {
+					unlock(locked);
+					return false;
+				}
+				locked++;
+			}
+			return true;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			long deadline = System.nanoTime() + unit.toNanos(time);
+			int locked = 0;
+			try {
+				for (Stripe stripe : stripes) {
+					if (!lockGetter.apply(stripe).tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+						unlock(locked);
+						return false;
+					}
+					locked++;
+				}
+			} catch (InterruptedException e) {
+				unlock(locked);
+				throw e;
+			}
+			return true;
+		}
+
+		@Override
+		public void unlock() {
+			unlock(stripes.length);
+		}
+
+		/**
+		 * Unlocks the locks of the first {@code count} stripes, in reverse order.
+		 */
+		private void unlock(int count) {
+			for (int i = count - 1; i >= 0; i--)
+				lockGetter.apply(stripes[i]).unlock();
+		}
+
+		/**
+		 * Not supported, as waiting for a condition would have to release the locks of all stripes at once.
+		 *
+		 * @throws UnsupportedOperationException always.
+		 */
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException("The locks of a striped variables map don't support conditions");
+		}
+
+	}
+
+}
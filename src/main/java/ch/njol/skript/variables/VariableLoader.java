@@ -0,0 +1,306 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.Serializer;
+import ch.njol.skript.registrations.Classes;
+import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deserializes variables read by a {@link VariablesStorage} while it is loading,
+ * and passes them to {@link Variables#variableLoaded(String, Object, VariablesStorage)}.
+ * <p>
+ * If {@link SkriptConfig#parallelVariableLoading parallel variable loading} is enabled,
+ * variables are collected into chunks which are deserialized by a pool of worker threads.
+ * Variables of types that {@link Serializer#mustSyncDeserialization() must be deserialized on the main thread}
+ * are deserialized by the loading thread instead.
+ * Either way, the variables are passed on in the order they were read on the loading thread,
+ * so later entries of a storage still override earlier ones.
+ * <p>
+ * This class is not thread-safe, it must only be used by the thread loading the storage.
+ */
+final class VariableLoader {
+
+	/**
+	 * The amount of variables deserialized by one task of the worker pool.
+	 */
+	private static final int CHUNK_SIZE = 512;
+
+	/**
+	 * Marks a variable that must be deserialized on the loading thread.
+	 */
+	private static final Object SYNC = new Object();
+
+	/**
+	 * Marks a variable that could not be deserialized.
+	 */
+	private static final Object FAILED = new Object();
+
+	/**
+	 * The total amount of variables deserialized by all loaders, used for progress reports.
+	 */
+	private static final AtomicLong deserialized = new AtomicLong();
+
+	/**
+	 * Handles variables that could not be deserialized.
+	 */
+	@FunctionalInterface
+	interface FailureHandler {
+
+		/**
+		 * @param name the name of the variable.
+		 * @param type the code name of the type of the variable.
+		 */
+		void failed(String name, String type);
+
+	}
+
+	private final VariablesStorage storage;
+	private final FailureHandler failureHandler;
+
+	@Nullable
+	private final ExecutorService executor;
+	private final int maxPendingChunks;
+	private final Deque<Future<Chunk>> pendingChunks = new ArrayDeque<>();
+
+	@Nullable
+	private Chunk currentChunk;
+
+	/**
+	 * @param storage the storage that is loading.
+	 * @param parallel whether to use a worker pool if {@link SkriptConfig#parallelVariableLoading enabled}.
+	 * Should be {@code false} if only a few variables are expected.
+	 * @param failureHandler called on the loading thread for each variable that could not be deserialized.
+	 */
+	VariableLoader(VariablesStorage storage, boolean parallel, FailureHandler failureHandler) {
+		this.storage = storage;
+		this.failureHandler = failureHandler;
+
+		int threads = parallel ? getThreadCount() : 0;
+		if (threads > 0) {
+			AtomicInteger threadId = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = Skript.newThread(runnable, "Skript variable loading thread " + threadId.incrementAndGet() +
+					" for database '" + storage.databaseName + "'");
+				thread.setDaemon(true);
+				return thread;
+			});
+		} else {
+			executor = null;
+		}
+		maxPendingChunks = Math.max(2, threads * 4);
+	}
+
+	/**
+	 * @return the amount of worker threads to use, {@code 0} to deserialize on the loading thread.
+	 */
+	static int getThreadCount() {
+		if (!SkriptConfig.parallelVariableLoading.value())
+			return 0;
+		return Math.max(0, Runtime.getRuntime().availableProcessors() - 1);
+	}
+
+	/**
+	 * @return the total amount of variables deserialized since the server started.
+	 */
+	static long getDeserializedCount() {
+		return deserialized.get();
+	}
+
+	/**
+	 * Loads the given variable.
+	 *
+	 * @param name the name of the variable.
+	 * @param type the code name of the type of the variable, or {@code null} if the variable was deleted.
+	 * @param data the serialized value, ignored if {@code type} is {@code null}.
+	 */
+	void load(String name, @Nullable String type, byte @Nullable [] data) {
+		Chunk chunk = currentChunk;
+		if (chunk == null)
+			chunk = currentChunk = new Chunk();
+
+		chunk.add(name, type, data);
+		if (chunk.size == CHUNK_SIZE)
+			submit();
+	}
+
+	/**
+	 * Loads the given variable whose value has already been deserialized,
+	 * keeping its order relative to the variables {@link #load(String, String, byte[]) loaded} before and after it.
+	 *
+	 * @param name the name of the variable.
+	 * @param value the value of the variable.
+	 */
+	void loadDeserialized(String name, Object value) {
+		Chunk chunk = currentChunk;
+		if (chunk == null)
+			chunk = currentChunk = new Chunk();
+
+		chunk.addDeserialized(name, value);
+		if (chunk.size == CHUNK_SIZE)
+			submit();
+	}
+
+	/**
+	 * Waits for all variables to be deserialized, and passes them on.
+	 * Must be called once after all variables have been {@link #load(String, String, byte[]) loaded}.
+	 */
+	void finish() {
+		submit();
+		try {
+			while (!pendingChunks.isEmpty())
+				complete(pendingChunks.poll());
+		} finally {
+			if (executor != null)
+				executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Submits the current chunk to the worker pool,
+	 * or processes it directly if there is no pool.
+	 */
+	private void submit() {
+		Chunk chunk = currentChunk;
+		if (chunk == null || chunk.size == 0)
+			return;
+		currentChunk = null;
+
+		if (executor == null) {
+			chunk.deserialize();
+			chunk.passOn();
+			return;
+		}
+
+		pendingChunks.add(executor.submit(() -> {
+			chunk.deserialize();
+			return chunk;
+		}));
+
+		// Don't read too far ahead of the deserialization
+		while (pendingChunks.size() > maxPendingChunks)
+			complete(pendingChunks.poll());
+	}
+
+	private void complete(Future<Chunk> future) {
+		Chunk chunk;
+		while (true) {
+			try {
+				chunk = future.get();
+				break;
+			} catch (InterruptedException ignored) {
+			} catch (ExecutionException e) {
+				//noinspection ThrowableNotThrown
+				Skript.exception(e.getCause(), "Error deserializing variables of the database '" + storage.databaseName + "'");
+				return;
+			}
+		}
+		chunk.passOn();
+	}
+
+	/**
+	 * A part of the variables of a storage, in the order they were read.
+	 */
+	private final class Chunk {
+
+		private final String[] names = new String[CHUNK_SIZE];
+		private final String[] types = new String[CHUNK_SIZE];
+		private final byte[][] data = new byte[CHUNK_SIZE][];
+		private final Object[] values = new Object[CHUNK_SIZE];
+		private int size;
+
+		void add(String name, @Nullable String type, byte @Nullable [] data) {
+			names[size] = name;
+			types[size] = type;
+			this.data[size] = data;
+			size++;
+		}
+
+		void addDeserialized(String name, Object value) {
+			// without a type, the value is passed on as it is
+			names[size] = name;
+			values[size] = value;
+			size++;
+		}
+
+		/**
+		 * Deserializes all variables that can be deserialized on the current thread.
+		 */
+		void deserialize() {
+			boolean primaryThread = Bukkit.isPrimaryThread();
+			for (int i = 0; i < size; i++) {
+				String type = types[i];
+				if (type == null)
+					continue;
+
+				ClassInfo<?> classInfo = Classes.getClassInfoNoError(type);
+				Serializer<?> serializer = classInfo == null ? null : classInfo.getSerializer();
+				if (serializer == null) {
+					values[i] = FAILED;
+				} else if (!primaryThread && serializer.mustSyncDeserialization()) {
+					values[i] = SYNC;
+				} else {
+					byte[] value = data[i];
+					Object deserializedValue = value == null ? null : Classes.deserialize(classInfo, value);
+					values[i] = deserializedValue == null ? FAILED : deserializedValue;
+					data[i] = null;
+					deserialized.incrementAndGet();
+				}
+			}
+		}
+
+		/**
+		 * Passes all variables on to {@link Variables}, deserializing those that must be deserialized on this thread.
+		 */
+		void passOn() {
+			for (int i = 0; i < size; i++) {
+				Object value = values[i];
+				if (value == SYNC) {
+					ClassInfo<?> classInfo = Classes.getClassInfoNoError(types[i]);
+					byte[] serializedValue = data[i];
+					value = classInfo == null || serializedValue == null ? null : Classes.deserialize(classInfo, serializedValue);
+					if (value == null)
+						value = FAILED;
+					deserialized.incrementAndGet();
+				}
+
+				if (value == FAILED) {
+					failureHandler.failed(names[i], types[i]);
+				} else {
+					Variables.variableLoaded(names[i], value, storage);
+				}
+			}
+		}
+
+	}
+
+}
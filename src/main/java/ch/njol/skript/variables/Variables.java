@@ -26,6 +26,7 @@ import ch.njol.skript.classes.ConfigurationSerializer;
 import ch.njol.skript.config.Config;
 import ch.njol.skript.config.Node;
 import ch.njol.skript.config.SectionNode;
+import ch.njol.skript.lang.TriggerFrame;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.registrations.Classes;
@@ -48,6 +49,7 @@ import com.google.common.collect.Multimap;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -55,16 +57,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.regex.Pattern;
 
 /**
  * Handles all things related to variables.
@@ -100,6 +96,7 @@ public class Variables {
 	// Register some things with Yggdrasil
 	static {
 		registerStorage(FlatFileStorage.class, "csv", "file", "flatfile");
+		registerStorage(BinaryFileStorage.class, "binary");
 		registerStorage(SQLiteStorage.class, "sqlite");
 		registerStorage(MySQLStorage.class, "mysql");
 		yggdrasil.registerSingleClass(Kleenean.class, "Kleenean");
@@ -140,6 +137,13 @@ public class Variables {
 	 */
 	static final List<VariablesStorage> STORAGES = new ArrayList<>();
 
+	/**
+	 * @return the variable storages that are currently loaded.
+	 */
+	public static List<VariablesStorage> getStorages() {
+		return Collections.unmodifiableList(STORAGES);
+	}
+
 	/**
 	 * Register a VariableStorage class for Skript to create if the user config value matches.
 	 * 
@@ -168,8 +172,7 @@ public class Variables {
 	 * @return whether the loading was successful.
 	 */
 	public static boolean load() {
-		assert variables.treeMap.isEmpty();
-		assert variables.hashMap.isEmpty();
+		assert variables.isEmpty();
 		assert STORAGES.isEmpty();
 
 		Config config = SkriptConfig.getConfig();
@@ -186,15 +189,23 @@ public class Variables {
 
 		// reports once per second how many variables were loaded. Useful to make clear that Skript is still doing something if it's loading many variables
 		Thread loadingLoggerThread = new Thread(() -> {
+			long lastDeserialized = VariableLoader.getDeserializedCount();
+			long lastTime = System.nanoTime();
 			while (true) {
 				try {
 					Thread.sleep(Skript.logNormal() ? 1000 : 5000); // low verbosity won't disable these messages, but makes them more rare
 				} catch (InterruptedException ignored) {}
 
+				long deserialized = VariableLoader.getDeserializedCount();
+				long time = System.nanoTime();
+				long rate = (deserialized - lastDeserialized) * 1_000_000_000L / Math.max(1, time - lastTime);
+				lastDeserialized = deserialized;
+				lastTime = time;
+
 				synchronized (TEMP_VARIABLES) {
 					Map<String, NonNullPair<Object, VariablesStorage>> tvs = TEMP_VARIABLES.get();
 					if (tvs != null)
-						Skript.info("Loaded " + tvs.size() + " variables so far...");
+						Skript.info("Loaded " + tvs.size() + " variables so far (" + rate + " variables per second)...");
 					else
 						break; // variables loaded, exit thread
 				}
@@ -272,9 +283,12 @@ public class Variables {
 					}
 
 					if (Skript.logVeryHigh()) {
+						long time = System.currentTimeMillis() - start;
+						int threads = VariableLoader.getThreadCount();
 						Skript.info("Loaded " + newVariablesLoaded + " variables from the database " +
-							"'" + sectionNode.getKey() + "' in " +
-							((System.currentTimeMillis() - start) / 100) / 10.0 + " seconds");
+							"'" + sectionNode.getKey() + "' in " + (time / 100) / 10.0 + " seconds" +
+							" (" + newVariablesLoaded * 1000L / Math.max(1, time) + " variables per second, " +
+							(threads == 0 ? "deserialized on the loading thread" : "deserialized by " + threads + " threads") + ")");
 					}
 				} else {
 					Skript.error("Invalid line in databases: databases must be defined as sections");
@@ -307,38 +321,45 @@ public class Variables {
 		return true;
 	}
 
-	/**
-	 * A pattern to split variable names using {@link Variable#SEPARATOR}.
-	 */
-	private static final Pattern VARIABLE_NAME_SPLIT_PATTERN = Pattern.compile(Pattern.quote(Variable.SEPARATOR));
-
 	/**
 	 * Splits the given variable name into its parts,
 	 * separated by {@link Variable#SEPARATOR}.
+	 * <p>
+	 * Like {@link java.util.regex.Pattern#split(CharSequence)}, trailing empty parts are removed.
 	 *
 	 * @param name the variable name.
 	 * @return the parts.
 	 */
 	public static String[] splitVariableName(String name) {
-		return VARIABLE_NAME_SPLIT_PATTERN.split(name);
-	}
-
-	/**
-	 * A lock for reading and writing variables.
-	 */
-	static final ReadWriteLock variablesLock = new ReentrantReadWriteLock(true);
+		String separator = Variable.SEPARATOR;
+		int index = name.indexOf(separator);
+		if (index == -1)
+			return new String[] {name};
+
+		int count = 1;
+		for (int i = index; i != -1; i = name.indexOf(separator, i + separator.length()))
+			count++;
+
+		String[] parts = new String[count];
+		int start = 0;
+		int part = 0;
+		for (int i = index; i != -1; i = name.indexOf(separator, start)) {
+			parts[part++] = name.substring(start, i);
+			start = i + separator.length();
+		}
+		parts[part] = name.substring(start);
 
-	/**
-	 * The {@link VariablesMap} storing global variables,
-	 * must be locked with {@link #variablesLock}.
-	 */
-	static final VariablesMap variables = new VariablesMap();
+		// Remove trailing empty parts
+		while (count > 0 && parts[count - 1].isEmpty())
+			count--;
+		return count == parts.length ? parts : Arrays.copyOf(parts, count);
+	}
 
 	/**
-	 * A map storing all local variables,
-	 * indexed by their {@link Event}.
+	 * The {@link StripedVariablesMap} storing global variables.
+	 * Each {@link StripedVariablesMap.Stripe stripe} must be locked with its own lock.
 	 */
-	private static final Map<Event, VariablesMap> localVariables = new ConcurrentHashMap<>();
+	static final StripedVariablesMap variables = new StripedVariablesMap();
 
 	/**
 	 * Gets the {@link TreeMap} of all global variables.
@@ -346,7 +367,7 @@ public class Variables {
 	 * Remember to lock with {@link #getReadLock()} and to not make any changes!
 	 */
 	static TreeMap<String, Object> getVariables() {
-		return variables.treeMap;
+		return variables.mergedTreeMap();
 	}
 
 	/**
@@ -356,18 +377,17 @@ public class Variables {
 	 * Remember to lock with {@link #getReadLock()}!
 	 */
 	static Map<String, Object> getVariablesHashMap() {
-		return Collections.unmodifiableMap(variables.hashMap);
+		return Collections.unmodifiableMap(variables.mergedHashMap());
 	}
 
 	/**
-	 * Gets the lock for reading variables.
+	 * Gets the lock for reading all variables.
+	 * This acquires the read locks of all stripes of {@link #variables}.
 	 *
 	 * @return the lock.
-	 *
-	 * @see #variablesLock
 	 */
 	static Lock getReadLock() {
-		return variablesLock.readLock();
+		return variables.readLock();
 	}
 
 	/**
@@ -380,7 +400,13 @@ public class Variables {
 	 */
 	@Nullable
 	public static VariablesMap removeLocals(Event event) {
-		return localVariables.remove(event);
+		TriggerFrame frame = TriggerFrame.find(event);
+		if (frame == null)
+			return null;
+		VariablesMap map = (VariablesMap) frame.getLocals();
+		frame.setLocals(null);
+		TriggerFrame.release(event);
+		return map;
 	}
 
 	/**
@@ -396,12 +422,21 @@ public class Variables {
 	 */
 	public static void setLocalVariables(Event event, @Nullable Object map) {
 		if (map != null) {
-			localVariables.put(event, (VariablesMap) map);
+			TriggerFrame.of(event).setLocals((VariablesMap) map);
 		} else {
 			removeLocals(event);
 		}
 	}
 
+	/**
+	 * @return the local variables of the given event, or {@code null} if it has none.
+	 */
+	@Nullable
+	private static VariablesMap getLocals(Event event) {
+		TriggerFrame frame = TriggerFrame.find(event);
+		return frame == null ? null : (VariablesMap) frame.getLocals();
+	}
+
 	/**
 	 * Creates a copy of the {@link VariablesMap} for local variables
 	 * in an event.
@@ -411,7 +446,7 @@ public class Variables {
 	 */
 	@Nullable
 	public static Object copyLocalVariables(Event event) {
-		VariablesMap from = localVariables.get(event);
+		VariablesMap from = getLocals(event);
 		if (from == null)
 			return null;
 
@@ -444,32 +479,24 @@ public class Variables {
 		}
 
 		if (local) {
-			VariablesMap map = localVariables.get(event);
+			VariablesMap map = event == null ? null : getLocals(event);
 			if (map == null)
 				return null;
 
 			return map.getVariable(n);
 		} else {
 			// Prevent race conditions from returning variables with incorrect values
-			if (!changeQueue.isEmpty()) {
-				// Gets the last VariableChange made
-				VariableChange variableChange = changeQueue.stream()
-						.filter(change -> change.name.equals(n))
-						.reduce((first, second) -> second)
-								// Gets last value, as iteration is from head to tail,
-								//  and adding occurs at the tail (and we want the most recently added)
-						.orElse(null);
-
-				if (variableChange != null) {
-					return variableChange.value;
-				}
-			}
+			VariableChange variableChange = variables.pendingChanges.get(n);
+			if (variableChange != null)
+				return variableChange.value;
 
+			StripedVariablesMap.Stripe stripe = variables.getStripe(n);
+			Lock readLock = stripe.lock.readLock();
+			readLock.lock();
 			try {
-				variablesLock.readLock().lock();
-				return variables.getVariable(n);
+				return stripe.map.getVariable(n);
 			} finally {
-				variablesLock.readLock().unlock();
+				readLock.unlock();
 			}
 		}
 	}
@@ -506,27 +533,87 @@ public class Variables {
 		// Check if conversion is needed due to ClassInfo#getSerializeAs
 		if (value != null) {
 			assert !name.endsWith("::*");
-
-			ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
-			Class<?> sas = ci.getSerializeAs();
-
-			if (sas != null) {
-				value = Converters.convert(value, sas);
-				assert value != null : ci + ", " + sas;
-			}
+			value = convertSerializeAs(value);
 		}
 
 		if (local) {
 			assert event != null : name;
 
 			// Get the variables map and set the variable in it
-			VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap());
+			TriggerFrame frame = TriggerFrame.of(event);
+			VariablesMap map = (VariablesMap) frame.getLocals();
+			if (map == null) {
+				map = new VariablesMap();
+				frame.setLocals(map);
+			}
 			map.setVariable(name, value);
 		} else {
 			setVariable(name, value);
 		}
 	}
 
+	/**
+	 * Converts the given value if its {@link ClassInfo} requires it to be stored as a different type.
+	 *
+	 * @see ClassInfo#getSerializeAs()
+	 */
+	private static Object convertSerializeAs(Object value) {
+		ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
+		Class<?> sas = ci.getSerializeAs();
+
+		if (sas != null) {
+			value = Converters.convert(value, sas);
+			assert value != null : ci + ", " + sas;
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the value of a local variable that was compiled to a slot when it was parsed.
+	 * <p>
+	 * <b>Do not modify the returned value!</b>
+	 *
+	 * @param slot the slot of the variable, only unique within its trigger.
+	 * @param name the name of the variable, already lower case if {@link #caseInsensitiveVariables} is enabled.
+	 *                This must be the same instance for all accesses using the slot,
+	 *                must not be a list variable, and must not contain {@link Variable#SEPARATOR}.
+	 * @param event the event the local variable resides in.
+	 * @return the value of the variable, or {@code null} if the variable is not set.
+	 * @see #getVariable(String, Event, boolean)
+	 */
+	@Nullable
+	public static Object getLocalVariable(int slot, String name, Event event) {
+		VariablesMap map = getLocals(event);
+		if (map == null)
+			return null;
+
+		return map.getSlotVariable(slot, name);
+	}
+
+	/**
+	 * Sets a local variable that was compiled to a slot when it was parsed.
+	 *
+	 * @param slot the slot of the variable, only unique within its trigger.
+	 * @param name the name of the variable, see {@link #getLocalVariable(int, String, Event)}.
+	 * @param value the variable's value, {@code null} to delete the variable.
+	 * @param event the event the local variable resides in.
+	 * @see #setVariable(String, Object, Event, boolean)
+	 */
+	public static void setLocalVariable(int slot, String name, @Nullable Object value, Event event) {
+		if (value != null)
+			value = convertSerializeAs(value);
+
+		TriggerFrame frame = TriggerFrame.of(event);
+		VariablesMap map = (VariablesMap) frame.getLocals();
+		if (map == null) {
+			if (value == null)
+				return;
+			map = new VariablesMap();
+			frame.setLocals(map);
+		}
+		map.setSlotVariable(slot, name, value);
+	}
+
 	/**
 	 * Sets the given global variable name to the given value.
 	 *
@@ -534,33 +621,29 @@ public class Variables {
 	 * @param value the value, or {@code null} to delete the variable.
 	 */
 	static void setVariable(String name, @Nullable Object value) {
-		boolean gotLock = variablesLock.writeLock().tryLock();
-		if (gotLock) {
+		StripedVariablesMap.Stripe stripe = variables.getStripe(name);
+		Lock writeLock = stripe.lock.writeLock();
+		if (writeLock.tryLock()) {
 			try {
-				// Set the variable
-				variables.setVariable(name, value);
-				// ..., save the variable change
+				// Process all previously queued changes, so they don't override this one
+				processChangeQueue(stripe);
+				// ..., set the variable
+				stripe.map.setVariable(name, value);
+				// ..., and save the variable change
 				saveVariableChange(name, value);
-				// ..., and process all previously queued changes
-				processChangeQueue();
 			} finally {
-				variablesLock.writeLock().unlock();
+				writeLock.unlock();
 			}
 		} else {
 			// Couldn't acquire variable write lock, queue the change (blocking here is a bad idea)
-			queueVariableChange(name, value);
+			queueVariableChange(stripe, name, value);
 		}
 	}
 
-	/**
-	 * Changes to variables that have not yet been performed.
-	 */
-	static final Queue<VariableChange> changeQueue = new ConcurrentLinkedQueue<>();
-
 	/**
 	 * A variable change name-value pair.
 	 */
-	private static class VariableChange {
+	static class VariableChange {
 
 		/**
 		 * The name of the changed variable.
@@ -590,28 +673,61 @@ public class Variables {
 	 * Queues a variable change. Only to be called when direct write is not
 	 * possible, but thread cannot be allowed to block.
 	 *
+	 * @param stripe the stripe the variable belongs to.
 	 * @param name the variable name.
 	 * @param value the new value.
 	 */
-	private static void queueVariableChange(String name, @Nullable Object value) {
-		changeQueue.add(new VariableChange(name, value));
+	private static void queueVariableChange(StripedVariablesMap.Stripe stripe, String name, @Nullable Object value) {
+		VariableChange change = new VariableChange(name, value);
+		variables.pendingChanges.put(name, change);
+		stripe.changeQueue.add(change);
 	}
 
 	/**
-	 * Processes all entries in variable change queue.
+	 * Processes all entries in the variable change queue of the given stripe.
 	 * <p>
-	 * Note that caller must acquire write lock before calling this,
+	 * Note that caller must acquire the stripe's write lock before calling this,
 	 * then release it.
+	 *
+	 * @param stripe the stripe to process the changes of.
 	 */
-	static void processChangeQueue() {
+	private static void processChangeQueue(StripedVariablesMap.Stripe stripe) {
 		while (true) { // Run as long as we still have changes
-			VariableChange change = changeQueue.poll();
+			VariableChange change = stripe.changeQueue.poll();
 			if (change == null)
 				break;
 
 			// Set and save variable
-			variables.setVariable(change.name, change.value);
+			stripe.map.setVariable(change.name, change.value);
 			saveVariableChange(change.name, change.value);
+
+			// Only forget the pending change if no newer one was queued in the meantime
+			variables.pendingChanges.remove(change.name, change);
+		}
+	}
+
+	/**
+	 * Processes the variable change queues of all stripes.
+	 *
+	 * @param wait whether to wait for the write lock of each stripe,
+	 *                or to skip stripes which are currently locked.
+	 */
+	static void processChangeQueues(boolean wait) {
+		for (StripedVariablesMap.Stripe stripe : variables.getStripes()) {
+			if (stripe.changeQueue.isEmpty())
+				continue;
+
+			Lock writeLock = stripe.lock.writeLock();
+			if (wait) {
+				writeLock.lock();
+			} else if (!writeLock.tryLock()) {
+				continue;
+			}
+			try {
+				processChangeQueue(stripe);
+			} finally {
+				writeLock.unlock();
+			}
 		}
 	}
 
@@ -699,11 +815,12 @@ public class Variables {
 			}
 		}
 
-		variablesLock.writeLock().lock();
+		StripedVariablesMap.Stripe stripe = variables.getStripe(name);
+		stripe.lock.writeLock().lock();
 		try {
-			variables.setVariable(name, value);
+			stripe.map.setVariable(name, value);
 		} finally {
-			variablesLock.writeLock().unlock();
+			stripe.lock.writeLock().unlock();
 		}
 
 		// Move the variable to the right storage
@@ -753,7 +870,7 @@ public class Variables {
 			TEMP_VARIABLES.set(null);
 			assert tvs != null;
 
-			variablesLock.writeLock().lock();
+			variables.writeLock().lock();
 			try {
 				// Calculate the amount of variables that don't have a storage
 				int unstoredVariables = 0;
@@ -769,7 +886,7 @@ public class Variables {
 
 				return unstoredVariables;
 			} finally {
-				variablesLock.writeLock().unlock();
+				variables.writeLock().unlock();
 			}
 		}
 	}
@@ -856,17 +973,13 @@ public class Variables {
 	/**
 	 * Closes the variable systems:
 	 * <ul>
-	 *     <li>Process all changes left in the {@link #changeQueue}.</li>
+	 *     <li>Process all changes left in the change queues.</li>
 	 *     <li>Stops the {@link #saveThread}.</li>
 	 * </ul>
 	 */
 	public static void close() {
-		try { // Ensure that all changes are to save soon
-			variablesLock.writeLock().lock();
-			processChangeQueue();
-		} finally {
-			variablesLock.writeLock().unlock();
-		}
+		// Ensure that all changes are to save soon
+		processChangeQueues(true);
 
 		// First, make sure all variables are saved
 		while (saveQueue.size() > 0) {
@@ -886,12 +999,17 @@ public class Variables {
 	 * @return the amount of variables.
 	 */
 	public static int numVariables() {
-		try {
-			variablesLock.readLock().lock();
-			return variables.hashMap.size();
-		} finally {
-			variablesLock.readLock().unlock();
+		int count = 0;
+		for (StripedVariablesMap.Stripe stripe : variables.getStripes()) {
+			Lock readLock = stripe.lock.readLock();
+			readLock.lock();
+			try {
+				count += stripe.map.hashMap.size();
+			} finally {
+				readLock.unlock();
+			}
 		}
+		return count;
 	}
 
 }
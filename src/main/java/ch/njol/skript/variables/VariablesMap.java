@@ -22,6 +22,7 @@ import ch.njol.skript.lang.Variable;
 import ch.njol.util.StringUtils;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +44,13 @@ final class VariablesMap {
 		if (s2 == null)
 			return 1;
 
+		// Fast path for list indices like '1', '2', ..., which are by far the most common
+		if (isCanonicalInteger(s1) && isCanonicalInteger(s2)) {
+			if (s1.length() != s2.length())
+				return s1.length() - s2.length();
+			return s1.compareTo(s2);
+		}
+
 		int i = 0;
 		int j = 0;
 
@@ -138,6 +146,25 @@ final class VariablesMap {
 		return 0;
 	};
 
+	/**
+	 * Checks whether the given string is a non-negative integer without leading zeroes,
+	 * for which the order of {@link #VARIABLE_NAME_COMPARATOR} is the numeric order.
+	 *
+	 * @param string the string to check.
+	 * @return whether the string only consists of digits, and doesn't start with a zero unless it is {@code 0}.
+	 */
+	static boolean isCanonicalInteger(String string) {
+		int length = string.length();
+		if (length == 0 || (string.charAt(0) == '0' && length != 1))
+			return false;
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c < '0' || c > '9')
+				return false;
+		}
+		return true;
+	}
+
 	/**
 	 * The map that stores all non-list variables.
 	 */
@@ -147,6 +174,22 @@ final class VariablesMap {
 	 */
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 
+	/**
+	 * The names of the local variables bound to slots, indexed by slot.
+	 * A variable is only bound to a slot if it is not a list variable and no list variable with its name exists.
+	 * Bound variables are not stored in the {@link #hashMap} or {@link #treeMap}.
+	 */
+	private String @Nullable [] slotNames;
+	/**
+	 * The values of the variables bound to slots, indexed by slot.
+	 */
+	private Object @Nullable [] slotValues;
+	/**
+	 * The slots of the variables bound to slots, indexed by their names.
+	 */
+	@Nullable
+	private HashMap<String, Integer> slotsByName;
+
 	/**
 	 * Returns the internal value of the requested variable.
 	 * <p>
@@ -160,6 +203,13 @@ final class VariablesMap {
 	@SuppressWarnings("unchecked")
 	@Nullable
 	Object getVariable(String name) {
+		if (slotsByName != null && !slotsByName.isEmpty()) {
+			Integer slot = slotsByName.get(name);
+			if (slot != null)
+				return slotValues[slot];
+			unbindRoot(name);
+		}
+
 		if (!name.endsWith("*")) {
 			// Not a list variable, quick access from the hash map
 			return hashMap.get(name);
@@ -207,6 +257,15 @@ final class VariablesMap {
 	 */
 	@SuppressWarnings("unchecked")
 	void setVariable(String name, @Nullable Object value) {
+		if (slotsByName != null && !slotsByName.isEmpty()) {
+			Integer slot = slotsByName.get(name);
+			if (slot != null) {
+				slotValues[slot] = value;
+				return;
+			}
+			unbindRoot(name);
+		}
+
 		// First update the hash map easily
 		if (!name.endsWith("*")) {
 			if (value == null)
@@ -300,6 +359,78 @@ final class VariablesMap {
 		}
 	}
 
+	/**
+	 * Gets the value of a local variable that is compiled to a slot.
+	 *
+	 * @param slot the slot of the variable.
+	 * @param name the name of the variable, which must not be a list variable
+	 *                nor contain the {@link Variable#SEPARATOR}.
+	 * @return the value of the variable, or {@code null} if it is not set.
+	 */
+	@Nullable
+	Object getSlotVariable(int slot, String name) {
+		String[] slotNames = this.slotNames;
+		if (slotNames != null && slot < slotNames.length && slotNames[slot] == name)
+			return slotValues[slot];
+		return getVariable(name);
+	}
+
+	/**
+	 * Sets the value of a local variable that is compiled to a slot.
+	 * The variable is bound to the slot if possible, otherwise it is set by its name.
+	 *
+	 * @param slot the slot of the variable.
+	 * @param name the name of the variable, which must not be a list variable
+	 *                nor contain the {@link Variable#SEPARATOR}.
+	 * @param value the variable value, {@code null} to delete the variable.
+	 */
+	void setSlotVariable(int slot, String name, @Nullable Object value) {
+		String[] slotNames = this.slotNames;
+		if (slotNames != null && slot < slotNames.length && slotNames[slot] == name) {
+			slotValues[slot] = value;
+			return;
+		}
+
+		// Bind the variable if the slot is free and the variable isn't stored in the maps yet
+		if (value != null && (slotNames == null || slot >= slotNames.length || slotNames[slot] == null)
+				&& (slotsByName == null || !slotsByName.containsKey(name)) && !treeMap.containsKey(name)) {
+			if (slotNames == null || slot >= slotNames.length) {
+				int length = Math.max(slot + 1, slotNames == null ? 8 : slotNames.length * 2);
+				this.slotNames = slotNames = slotNames == null ? new String[length] : Arrays.copyOf(slotNames, length);
+				slotValues = slotValues == null ? new Object[length] : Arrays.copyOf(slotValues, length);
+			}
+			if (slotsByName == null)
+				slotsByName = new HashMap<>();
+			slotNames[slot] = name;
+			slotValues[slot] = value;
+			slotsByName.put(name, slot);
+			return;
+		}
+
+		setVariable(name, value);
+	}
+
+	/**
+	 * Moves the variable bound to a slot with the same name as the root of the given list variable name
+	 * into the {@link #hashMap} and {@link #treeMap}, so the list variable can be accessed by its name.
+	 */
+	private void unbindRoot(String name) {
+		assert slotsByName != null && slotNames != null && slotValues != null;
+		int separator = name.indexOf(Variable.SEPARATOR);
+		if (separator == -1)
+			return;
+		Integer slot = slotsByName.remove(name.substring(0, separator));
+		if (slot == null)
+			return;
+
+		String root = slotNames[slot];
+		Object value = slotValues[slot];
+		slotNames[slot] = null;
+		slotValues[slot] = null;
+		if (value != null)
+			setVariable(root, value);
+	}
+
 	/**
 	 * Deletes all indices of a list variable from the {@link #hashMap}.
 	 *
@@ -334,6 +465,11 @@ final class VariablesMap {
 		VariablesMap copy = new VariablesMap();
 
 		copy.hashMap.putAll(hashMap);
+		if (slotsByName != null) {
+			copy.slotNames = slotNames.clone();
+			copy.slotValues = slotValues.clone();
+			copy.slotsByName = new HashMap<>(slotsByName);
+		}
 
 		TreeMap<String, Object> treeMapCopy = copyTreeMap(treeMap);
 		copy.treeMap.putAll(treeMapCopy);
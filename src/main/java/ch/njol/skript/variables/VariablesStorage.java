@@ -20,7 +20,10 @@ package ch.njol.skript.variables;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -58,9 +61,25 @@ public abstract class VariablesStorage implements Closeable {
 	 * after which a warning will be sent.
 	 */
 	private static final int FIRST_WARNING = 300;
+	/**
+	 * The maximum amount of variable changes passed to {@link #saveBatch(List)} at once.
+	 */
+	private static final int MAX_BATCH_SIZE = QUEUE_SIZE;
 
 	final LinkedBlockingQueue<SerializedVariable> changesQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
 
+	/**
+	 * The amount of variable changes that have been queued, but not yet written,
+	 * including the changes currently being written by the {@link #writeThread}.
+	 */
+	private final AtomicInteger unsavedChanges = new AtomicInteger();
+
+	/**
+	 * Statistics of the {@link #writeThread}, only written by that thread.
+	 */
+	private volatile int lastBatchSize;
+	private volatile long lastFlushNanos, maxFlushNanos, totalBatches, totalChanges;
+
 	/**
 	 * Whether this variable storage has been {@link #close() closed}.
 	 */
@@ -104,19 +123,33 @@ public abstract class VariablesStorage implements Closeable {
 		databaseName = name;
 
 		writeThread = Skript.newThread(() -> {
+			List<SerializedVariable> batch = new ArrayList<>();
 			while (!closed) {
 				try {
-					// Take a variable from the queue and process it
-					SerializedVariable variable = changesQueue.take();
-					Value value = variable.value;
-
-					// Actually save the variable
-					if (value != null)
-						save(variable.name, value.type, value.data);
-					else
-						save(variable.name, null, null);
+					// Take a variable from the queue, and all others that are already waiting
+					batch.add(changesQueue.take());
+					changesQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+					// Actually save the variables
+					long start = System.nanoTime();
+					saveBatch(batch);
+					long duration = System.nanoTime() - start;
+
+					lastBatchSize = batch.size();
+					lastFlushNanos = duration;
+					if (duration > maxFlushNanos)
+						maxFlushNanos = duration;
+					totalBatches++;
+					totalChanges += batch.size();
 				} catch (InterruptedException ignored) {
 					// Ignored as the `closed` field will indicate whether the thread actually needs to stop
+				} catch (RuntimeException e) {
+					//noinspection ThrowableNotThrown
+					Skript.exception(e, "Could not save " + batch.size() + " variable changes to the database '" + databaseName + "'");
+				} finally {
+					// the changes count as written even if they failed, so that close() doesn't wait for them forever
+					unsavedChanges.addAndGet(-batch.size());
+					batch.clear();
 				}
 			}
 		}, "Skript variable save thread for database '" + name + "'");
@@ -375,6 +408,8 @@ public abstract class VariablesStorage implements Closeable {
 	 * @param var the serialized variable.
 	 */
 	final void save(SerializedVariable var) {
+		unsavedChanges.incrementAndGet();
+
 		if (changesQueue.size() > FIRST_WARNING && lastWarning < System.currentTimeMillis() - WARNING_INTERVAL * 1000) {
 			// Too many variables queued up to save, warn the server
 			Skript.warning("Cannot write variables to the database '" + databaseName + "' at sufficient speed; " +
@@ -419,7 +454,7 @@ public abstract class VariablesStorage implements Closeable {
 	@Override
 	public void close() {
 		// Wait for all variable changes to be processed
-		while (changesQueue.size() > 0) {
+		while (unsavedChanges.get() > 0) {
 			try {
 				Thread.sleep(10);
 			} catch (InterruptedException ignored) {}
@@ -437,7 +472,75 @@ public abstract class VariablesStorage implements Closeable {
 	 * after calling this method.
 	 */
 	protected void clearChangesQueue() {
-		changesQueue.clear();
+		List<SerializedVariable> cleared = new ArrayList<>(changesQueue.size());
+		changesQueue.drainTo(cleared);
+		unsavedChanges.addAndGet(-cleared.size());
+	}
+
+	/**
+	 * @return the name of this storage, i.e. of its database.
+	 */
+	public String getDatabaseName() {
+		return databaseName;
+	}
+
+	/**
+	 * @return the amount of variable changes waiting to be written to this storage.
+	 */
+	public int getQueueSize() {
+		return changesQueue.size();
+	}
+
+	/**
+	 * @return the amount of variable changes written by the last {@link #saveBatch(List)} call.
+	 */
+	public int getLastBatchSize() {
+		return lastBatchSize;
+	}
+
+	/**
+	 * @return the average amount of variable changes written per {@link #saveBatch(List)} call.
+	 */
+	public double getAverageBatchSize() {
+		long batches = totalBatches;
+		return batches == 0 ? 0 : (double) totalChanges / batches;
+	}
+
+	/**
+	 * @return the duration of the last {@link #saveBatch(List)} call, in nanoseconds.
+	 */
+	public long getLastFlushNanos() {
+		return lastFlushNanos;
+	}
+
+	/**
+	 * @return the longest duration of a {@link #saveBatch(List)} call, in nanoseconds.
+	 */
+	public long getMaxFlushNanos() {
+		return maxFlushNanos;
+	}
+
+	/**
+	 * Saves a batch of variable changes, in the order they were made.
+	 * <p>
+	 * This is called from the {@link #writeThread} with all changes
+	 * that were queued at the time, up to a limit.
+	 * The default implementation calls {@link #save(String, String, byte[])} for each change,
+	 * storages that support batched writes should override this.
+	 *
+	 * @param variables the changed variables.
+	 * @return Whether all variables were saved.
+	 */
+	protected boolean saveBatch(List<SerializedVariable> variables) {
+		boolean success = true;
+		for (SerializedVariable variable : variables) {
+			Value value = variable.value;
+			if (value != null)
+				success &= save(variable.name, value.type, value.data);
+			else
+				success &= save(variable.name, null, null);
+		}
+		return success;
 	}
 
 	/**
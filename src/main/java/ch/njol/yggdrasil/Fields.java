@@ -35,6 +35,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @NotThreadSafe
 public final class Fields implements Iterable<FieldContext> {
@@ -233,7 +234,7 @@ public final class Fields implements Iterable<FieldContext> {
 		}
 	}
 	
-	private static final Map<Class<?>, Collection<Field>> cache = new HashMap<>();
+	private static final Map<Class<?>, Collection<Field>> cache = new ConcurrentHashMap<>();
 	
 	/**
 	 * Gets all serializable fields of the provided class, including superclasses.
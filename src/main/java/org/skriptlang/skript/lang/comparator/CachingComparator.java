@@ -0,0 +1,92 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.comparator;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Compares objects like {@link Comparators#compare(Object, Object)},
+ *  but remembers the comparator resolved for the types of the previous objects.
+ * This avoids looking up the comparator when the same types are compared repeatedly.
+ * @see Comparators#bindComparator(Class, Class)
+ */
+final class CachingComparator implements Comparator<Object, Object> {
+
+	/**
+	 * The types of the previous objects with their comparator, replaced as a whole so it can be shared between threads.
+	 */
+	@Nullable
+	private volatile Resolved resolved;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Relation compare(@Nullable Object o1, @Nullable Object o2) {
+		if (o1 == null || o2 == null)
+			return Relation.NOT_EQUAL;
+		if (o1 == o2)
+			return Relation.EQUAL;
+
+		Class<?> firstType = o1.getClass();
+		Class<?> secondType = o2.getClass();
+		Resolved resolved = this.resolved;
+		if (resolved == null || resolved.firstType != firstType || resolved.secondType != secondType) {
+			resolved = new Resolved(firstType, secondType, Comparators.getComparator((Class<Object>) firstType, (Class<Object>) secondType));
+			this.resolved = resolved;
+		}
+
+		Comparator<Object, Object> comparator = resolved.comparator;
+		return comparator == null ? Relation.NOT_EQUAL : comparator.compare(o1, o2);
+	}
+
+	@Override
+	public boolean supportsOrdering() {
+		return true; // the comparator is only known at runtime
+	}
+
+	@Override
+	public boolean supportsInversion() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "CachingComparator{resolved=" + resolved + "}";
+	}
+
+	private static final class Resolved {
+
+		private final Class<?> firstType;
+		private final Class<?> secondType;
+		@Nullable
+		private final Comparator<Object, Object> comparator;
+
+		private Resolved(Class<?> firstType, Class<?> secondType, @Nullable Comparator<Object, Object> comparator) {
+			this.firstType = firstType;
+			this.secondType = secondType;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public String toString() {
+			return firstType.getSimpleName() + ", " + secondType.getSimpleName() + ": " + comparator;
+		}
+
+	}
+
+}
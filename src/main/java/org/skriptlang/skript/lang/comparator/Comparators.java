@@ -21,7 +21,6 @@ package org.skriptlang.skript.lang.comparator;
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.util.Utils;
-import ch.njol.util.Pair;
 import org.eclipse.jdt.annotation.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.skriptlang.skript.lang.converter.Converter;
@@ -30,9 +29,9 @@ import org.skriptlang.skript.lang.converter.Converters;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Comparators are used to provide Skript with specific instructions for comparing two objects.
@@ -71,11 +70,17 @@ public final class Comparators {
 	}
 
 	/**
-	 * A map for quickly accessing comparators that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no comparator exists between the two types.
+	 * A map for quickly accessing comparators that have already been resolved,
+	 *  keyed by the first type and then by the second type.
+	 * Pairs may point to {@link #NO_COMPARATOR}, indicating that no comparator exists between the two types.
 	 * This is useful for skipping complex lookups that may require conversion and inversion.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ComparatorInfo<?, ?>> QUICK_ACCESS_COMPARATORS = new HashMap<>(50);
+	private static final Map<Class<?>, Map<Class<?>, Object>> QUICK_ACCESS_COMPARATORS = new ConcurrentHashMap<>(50);
+
+	/**
+	 * Cached in {@link #QUICK_ACCESS_COMPARATORS} for pairs of types that can't be compared.
+	 */
+	private static final Object NO_COMPARATOR = new Object();
 
 	/**
 	 * Registers a new Comparator with Skript's collection of Comparators.
@@ -199,19 +204,39 @@ public final class Comparators {
 	public static <T1, T2> ComparatorInfo<T1, T2> getComparatorInfo(Class<T1> firstType, Class<T2> secondType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<>(firstType, secondType);
-		ComparatorInfo<T1, T2> comparator;
-
-		synchronized (QUICK_ACCESS_COMPARATORS) {
-			if (QUICK_ACCESS_COMPARATORS.containsKey(pair)) {
-				comparator = (ComparatorInfo<T1, T2>) QUICK_ACCESS_COMPARATORS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				comparator = getComparatorInfo_i(firstType, secondType);
-				QUICK_ACCESS_COMPARATORS.put(pair, comparator);
-			}
+		// Compute QUICK_ACCESS for provided types, including when no comparator exists
+		// Resolving may look up other comparators, so the maps must not be locked meanwhile
+		Map<Class<?>, Object> comparators = QUICK_ACCESS_COMPARATORS.computeIfAbsent(firstType, first -> new ConcurrentHashMap<>());
+		Object comparator = comparators.get(secondType);
+		if (comparator == null) {
+			ComparatorInfo<T1, T2> info = getComparatorInfo_i(firstType, secondType);
+			comparator = info != null ? info : NO_COMPARATOR;
+			Object existing = comparators.putIfAbsent(secondType, comparator);
+			if (existing != null) // another thread resolved the same types, use its result
+				comparator = existing;
 		}
 
-		return comparator;
+		return comparator == NO_COMPARATOR ? null : (ComparatorInfo<T1, T2>) comparator;
+	}
+
+	/**
+	 * A method for obtaining a Comparator for comparing objects of <code>firstType</code> and <code>secondType</code> many times,
+	 *  e.g. by a syntax element that knows the types it will compare when it is parsed.
+	 * If either type is {@link Object}, the comparator is resolved for the actual types of the compared objects,
+	 *  and the comparator resolved for the previous objects is reused if their types are the same.
+	 * @param firstType The first type for comparison.
+	 * @param secondType The second type for comparison.
+	 * @return A Comparator capable of determining the {@link Relation} between two objects of <code>firstType</code> and <code>secondType</code>.
+	 * Will be null if no comparator capable of comparing two objects of <code>firstType</code> and <code>secondType</code> was found.
+	 * @see #compare(Object, Object)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public static <T1, T2> Comparator<T1, T2> bindComparator(Class<T1> firstType, Class<T2> secondType) {
+		assertIsDoneLoading();
+		if (firstType == Object.class || secondType == Object.class)
+			return (Comparator<T1, T2>) new CachingComparator();
+		return getComparator(firstType, secondType);
 	}
 
 	/**
@@ -20,7 +20,6 @@ package org.skriptlang.skript.lang.converter;
 
 import ch.njol.skript.Skript;
 import ch.njol.skript.SkriptAPIException;
-import ch.njol.util.Pair;
 import org.eclipse.jdt.annotation.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
@@ -31,6 +30,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converters are used to provide Skript with specific instructions for converting an object to a different type.
@@ -58,11 +58,25 @@ public final class Converters {
 	}
 
 	/**
-	 * A map for quickly access converters that have already been resolved.
-	 * Some pairs may point to a null value, indicating that no converter exists between the two types.
+	 * The registered converters, including chained ones, keyed by their 'from' type and then by their 'to' type.
+	 * This is created by {@link #createChainedConverters()} when registration ends and never changes afterwards,
+	 *  so it can be read without any synchronization.
+	 */
+	@Nullable
+	private static volatile Map<Class<?>, Map<Class<?>, ConverterInfo<?, ?>>> FROZEN_CONVERTERS;
+
+	/**
+	 * A map for quickly accessing converters that have already been resolved, but are not in {@link #FROZEN_CONVERTERS},
+	 *  keyed by the 'from' type and then by the 'to' type.
+	 * Pairs may point to {@link #NO_CONVERTER}, indicating that no converter exists between the two types.
 	 * This is useful for skipping complex lookups that may require chaining.
 	 */
-	private static final Map<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>> QUICK_ACCESS_CONVERTERS = new HashMap<>(50);
+	private static final Map<Class<?>, Map<Class<?>, Object>> QUICK_ACCESS_CONVERTERS = new ConcurrentHashMap<>(50);
+
+	/**
+	 * Cached in {@link #QUICK_ACCESS_CONVERTERS} for pairs of types that can't be converted.
+	 */
+	private static final Object NO_CONVERTER = new Object();
 
 	/**
 	 * Registers a new Converter with Skript's collection of Converters.
@@ -157,9 +171,24 @@ public final class Converters {
 				}
 
 			}
+
+			freeze();
 		}
 	}
 
+	/**
+	 * Internal method. Must be called while synchronized on {@link #CONVERTERS}, after all converters have been registered.
+	 * Creates {@link #FROZEN_CONVERTERS} and clears converters that were resolved before.
+	 */
+	private static void freeze() {
+		Map<Class<?>, Map<Class<?>, ConverterInfo<?, ?>>> frozen = new HashMap<>();
+		for (ConverterInfo<?, ?> info : CONVERTERS)
+			frozen.computeIfAbsent(info.getFrom(), from -> new HashMap<>()).put(info.getTo(), info);
+		frozen.replaceAll((from, converters) -> Collections.unmodifiableMap(converters));
+		FROZEN_CONVERTERS = Collections.unmodifiableMap(frozen);
+		QUICK_ACCESS_CONVERTERS.clear();
+	}
+
 	/**
 	 * Internal method. All calling locations are expected to manually synchronize this method if necessary.
 	 * @return Whether a Converter exists that EXACTLY matches the provided types.
@@ -244,19 +273,36 @@ public final class Converters {
 	public static <F, T> ConverterInfo<F, T> getConverterInfo(Class<F> fromType, Class<T> toType) {
 		assertIsDoneLoading();
 
-		Pair<Class<?>, Class<?>> pair = new Pair<>(fromType, toType);
-		ConverterInfo<F, T> converter;
+		// exact matches are registered converters
+		Map<Class<?>, Map<Class<?>, ConverterInfo<?, ?>>> frozen = FROZEN_CONVERTERS;
+		if (frozen != null) {
+			Map<Class<?>, ConverterInfo<?, ?>> exact = frozen.get(fromType);
+			if (exact != null) {
+				ConverterInfo<?, ?> converter = exact.get(toType);
+				if (converter != null)
+					return (ConverterInfo<F, T>) converter;
+			}
+		}
 
-		synchronized (QUICK_ACCESS_CONVERTERS) {
-			if (QUICK_ACCESS_CONVERTERS.containsKey(pair)) {
-				converter = (ConverterInfo<F, T>) QUICK_ACCESS_CONVERTERS.get(pair);
-			} else { // Compute QUICK_ACCESS for provided types
-				converter = getConverterInfo_i(fromType, toType);
-				QUICK_ACCESS_CONVERTERS.put(pair, converter);
+		// Compute QUICK_ACCESS for provided types, including when no converter exists
+		Map<Class<?>, Object> converters = QUICK_ACCESS_CONVERTERS.computeIfAbsent(fromType, from -> new ConcurrentHashMap<>());
+		Object converter = converters.get(toType);
+		if (converter == null) {
+			ConverterInfo<F, T> info;
+			if (frozen != null) { // the converters won't change anymore
+				info = getConverterInfo_i(fromType, toType);
+			} else {
+				synchronized (CONVERTERS) {
+					info = getConverterInfo_i(fromType, toType);
+				}
 			}
+			converter = info != null ? info : NO_CONVERTER;
+			Object existing = converters.putIfAbsent(toType, converter);
+			if (existing != null) // another thread resolved the same types, use its result
+				converter = existing;
 		}
 
-		return converter;
+		return converter == NO_CONVERTER ? null : (ConverterInfo<F, T>) converter;
 	}
 
 	/**
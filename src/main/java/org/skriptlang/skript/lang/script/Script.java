@@ -41,7 +41,7 @@ import java.util.stream.Collectors;
  */
 public final class Script {
 
-	private final Config config;
+	private Config config;
 
 	private final List<Structure> structures;
 
@@ -64,6 +64,16 @@ public final class Script {
 		return config;
 	}
 
+	/**
+	 * Replaces the Config of this Script with a newer version of the same file,
+	 * used when only some Structures of this Script are reloaded.
+	 * @param config The new Config, which must have the same file as the current one.
+	 */
+	@ApiStatus.Internal
+	public void setConfig(Config config) {
+		this.config = config;
+	}
+
 	/**
 	 * @return An unmodifiable list of all Structures within this Script.
 	 */
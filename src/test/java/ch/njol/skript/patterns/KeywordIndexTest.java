@@ -0,0 +1,53 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class KeywordIndexTest {
+
+	@Test
+	public void testCandidates() {
+		SkriptPattern give = PatternCompiler.compile("give all items to everyone");
+		SkriptPattern name = PatternCompiler.compile("[the] name");
+		SkriptPattern choice = PatternCompiler.compile("(open|close) the door");
+		SkriptPattern unindexed = PatternCompiler.compile("[the] thing");
+		KeywordIndex index = KeywordIndex.build(Arrays.asList(give, name, choice, unindexed));
+
+		KeywordIndex.Candidates candidates = index.getCandidates("give all items to everyone");
+		assertTrue(candidates.test(give));
+		assertTrue(candidates.test(unindexed));
+		assertFalse(candidates.test(choice));
+
+		// 'name' is not a whole word, but the pattern must still be tried
+		candidates = index.getCandidates("the username");
+		assertTrue(candidates.test(name));
+		assertFalse(candidates.test(give));
+
+		candidates = index.getCandidates("close the door");
+		assertTrue(candidates.test(choice));
+		assertFalse(candidates.test(give));
+	}
+
+}
@@ -0,0 +1,166 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+	private final List<String> runs = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		TimingWheel.manualTicking = true;
+		TimingWheel.clear();
+		TimingWheel.setBudget(0);
+	}
+
+	@After
+	public void tearDown() {
+		TimingWheel.clear();
+		TimingWheel.manualTicking = false;
+	}
+
+	private Runnable record(String name) {
+		return () -> runs.add(name);
+	}
+
+	private static void tick(int ticks) {
+		for (int i = 0; i < ticks; i++)
+			TimingWheel.tick();
+	}
+
+	@Test
+	public void testOrderWithinBucket() {
+		// due one rotation later, in the same bucket as the others
+		TimingWheel.schedule(record("later"), 2 + 512);
+		TimingWheel.schedule(record("first"), 2);
+		TimingWheel.schedule(record("second"), 2);
+		TimingWheel.schedule(record("third"), 2);
+
+		tick(1);
+		assertEquals(Collections.emptyList(), runs);
+		tick(1);
+		assertEquals(Arrays.asList("first", "second", "third"), runs);
+		assertEquals(1, TimingWheel.getPendingCount());
+	}
+
+	@Test
+	public void testLongDelay() {
+		long executed = TimingWheel.getExecutedCount();
+		TimingWheel.schedule(record("long"), 1300);
+
+		tick(1299);
+		assertEquals(Collections.emptyList(), runs);
+		tick(1);
+		assertEquals(Collections.singletonList("long"), runs);
+		tick(1300);
+		assertEquals(Collections.singletonList("long"), runs);
+		assertEquals(executed + 1, TimingWheel.getExecutedCount());
+		assertEquals(0, TimingWheel.getPendingCount());
+	}
+
+	@Test
+	public void testRepeatingAndCancel() {
+		TimingWheel.Handle handle = TimingWheel.scheduleRepeating(record("repeat"), 1, 3);
+
+		tick(7);
+		assertEquals(Arrays.asList("repeat", "repeat", "repeat"), runs);
+		assertEquals(1, TimingWheel.getPendingCount());
+
+		handle.cancel();
+		assertTrue(handle.isCancelled());
+		tick(10);
+		assertEquals(3, runs.size());
+		assertEquals(0, TimingWheel.getPendingCount());
+
+		// a task cancelling itself while running
+		runs.clear();
+		TimingWheel.Handle[] self = new TimingWheel.Handle[1];
+		self[0] = TimingWheel.scheduleRepeating(() -> {
+			runs.add("self");
+			self[0].cancel();
+		}, 1, 1);
+		tick(5);
+		assertEquals(Collections.singletonList("self"), runs);
+		assertEquals(0, TimingWheel.getPendingCount());
+	}
+
+	@Test
+	public void testBudget() {
+		// each task uses up the budget, so only one task runs in each tick
+		TimingWheel.setBudget(1);
+		long deferred = TimingWheel.getTotalDeferredCount();
+		TimingWheel.schedule(spin("a"), 1);
+		TimingWheel.schedule(spin("b"), 1);
+		TimingWheel.schedule(spin("c"), 1);
+		TimingWheel.schedule(spin("d"), 2);
+
+		tick(1);
+		assertEquals(Collections.singletonList("a"), runs);
+		assertEquals(2, TimingWheel.getDeferredCount());
+		tick(1);
+		// deferred tasks run before the tasks that are due in this tick
+		assertEquals(Arrays.asList("a", "b"), runs);
+		assertEquals(2, TimingWheel.getDeferredCount());
+		tick(2);
+		assertEquals(Arrays.asList("a", "b", "c", "d"), runs);
+		assertEquals(0, TimingWheel.getDeferredCount());
+		assertEquals(deferred + 5, TimingWheel.getTotalDeferredCount());
+		assertEquals(0, TimingWheel.getPendingCount());
+	}
+
+	/**
+	 * @return A task that records its name and runs for at least a microsecond.
+	 */
+	private Runnable spin(String name) {
+		return () -> {
+			runs.add(name);
+			long start = System.nanoTime();
+			//noinspection StatementWithEmptyBody
+			while (System.nanoTime() - start < 1000) {}
+		};
+	}
+
+	@Test
+	public void testScheduleDuringTick() {
+		TimingWheel.schedule(() -> {
+			runs.add("outer");
+			TimingWheel.schedule(record("inner"), 1);
+		}, 1);
+
+		tick(1);
+		// not run in the tick it was scheduled in
+		assertEquals(Collections.singletonList("outer"), runs);
+		tick(1);
+		assertEquals(Arrays.asList("outer", "inner"), runs);
+		assertEquals(0, TimingWheel.getPendingCount());
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class VariablesMapTest {
+
+	@Test
+	public void testComparatorOrder() {
+		List<String> names = Arrays.asList("-10", "-2", "0", "00", "1", "01", "2", "9", "10", "99", "100", "1.5", "1.25", "a", "b10", "b9a");
+		for (String first : names) {
+			for (String second : names) {
+				int result = Integer.signum(VariablesMap.VARIABLE_NAME_COMPARATOR.compare(first, second));
+				int reverse = Integer.signum(VariablesMap.VARIABLE_NAME_COMPARATOR.compare(second, first));
+				assertEquals(first + " <> " + second, -result, reverse);
+			}
+		}
+		assertEquals(-1, Integer.signum(VariablesMap.VARIABLE_NAME_COMPARATOR.compare("9", "10")));
+		assertEquals(0, Integer.signum(VariablesMap.VARIABLE_NAME_COMPARATOR.compare("10", "10")));
+		assertEquals(-1, Integer.signum(VariablesMap.VARIABLE_NAME_COMPARATOR.compare("123", "124")));
+	}
+
+	@Test
+	public void testCanonicalInteger() {
+		assert VariablesMap.isCanonicalInteger("0");
+		assert VariablesMap.isCanonicalInteger("1234567890123456789012345");
+		assert !VariablesMap.isCanonicalInteger("");
+		assert !VariablesMap.isCanonicalInteger("01");
+		assert !VariablesMap.isCanonicalInteger("-1");
+		assert !VariablesMap.isCanonicalInteger("1.5");
+	}
+
+	@Test
+	public void testSplitVariableName() {
+		assertArrayEquals(new String[] {"a"}, Variables.splitVariableName("a"));
+		assertArrayEquals(new String[] {"a", "b", "*"}, Variables.splitVariableName("a::b::*"));
+		assertArrayEquals(new String[] {"", "a"}, Variables.splitVariableName("::a"));
+		assertArrayEquals(new String[] {"a", "", "b"}, Variables.splitVariableName("a::::b"));
+		assertArrayEquals(new String[] {"a"}, Variables.splitVariableName("a::"));
+	}
+
+	@Test
+	public void testListOrder() {
+		VariablesMap map = new VariablesMap();
+		for (int i = 100; i >= 1; i--)
+			map.setVariable("list::" + i, i);
+		Object list = map.getVariable("list::*");
+		assert list instanceof Map;
+		int expected = 1;
+		for (Object key : ((Map<?, ?>) list).keySet())
+			assertEquals(String.valueOf(expected++), key);
+		assertEquals(101, expected);
+	}
+
+	@Test
+	public void testSlotVariables() {
+		VariablesMap map = new VariablesMap();
+		String name = "x";
+		map.setSlotVariable(0, name, 1);
+		assertEquals(1, map.getSlotVariable(0, name));
+		assertEquals(1, map.getVariable("x"));
+
+		// another variable can't take the slot, but is still stored
+		map.setSlotVariable(0, "y", 2);
+		assertEquals(2, map.getSlotVariable(0, "y"));
+		assertEquals(1, map.getSlotVariable(0, name));
+
+		// accessing a list with the same name moves the variable back into the maps
+		map.setVariable("x::1", 3);
+		assertEquals(1, map.getSlotVariable(0, name));
+		Object list = map.getVariable("x::*");
+		assert list instanceof Map;
+		assertEquals(3, ((Map<?, ?>) list).get("1"));
+
+		VariablesMap copy = map.copy();
+		map.setSlotVariable(0, name, null);
+		assertNull(map.getVariable("x"));
+		assertEquals(1, copy.getSlotVariable(0, name));
+	}
+
+}
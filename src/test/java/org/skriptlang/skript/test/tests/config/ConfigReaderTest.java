@@ -0,0 +1,61 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.test.tests.config;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import ch.njol.skript.config.ConfigReader;
+
+public class ConfigReaderTest {
+
+	@Test
+	public void bufferedLinesTest() throws IOException {
+		String[] data = {
+				"",
+				"a",
+				"a\n",
+				"a\nb",
+				"a\r\nb\r\n",
+				"a\rb\r",
+				"a\n\n\nb",
+				"\uFEFFa\nb",
+				"\n\uFEFFa\n",
+				"ä\tö\r\n\rü",
+		};
+		for (String d : data) {
+			byte[] bytes = d.getBytes(ConfigReader.UTF_8);
+			try (ConfigReader stream = new ConfigReader(new ByteArrayInputStream(bytes));
+					ConfigReader buffer = new ConfigReader(ByteBuffer.wrap(bytes))) {
+				String expected;
+				do {
+					expected = stream.readLine();
+					assertEquals(d, expected, buffer.readLine());
+					assertEquals(d, stream.getLineNum(), buffer.getLineNum());
+				} while (expected != null);
+			}
+		}
+	}
+
+}